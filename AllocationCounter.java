@@ -0,0 +1,32 @@
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * Bytes allocated on the heap by the calling thread, from HotSpot's per-thread
+ * allocation counter. Taking the difference around a piece of code shows how
+ * much garbage it produces. Where the JVM does not offer the counter every
+ * reading is -1.
+ */
+public class AllocationCounter {
+    private static final com.sun.management.ThreadMXBean THREADS = lookup();
+
+    private static com.sun.management.ThreadMXBean lookup() {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+            if (threads.isThreadAllocatedMemorySupported()) {
+                threads.setThreadAllocatedMemoryEnabled(true);
+                return threads;
+            }
+        }
+        return null;
+    }
+
+    public static boolean isSupported() {
+        return THREADS != null;
+    }
+
+    public static long currentThreadAllocatedBytes() {
+        return THREADS == null ? -1 : THREADS.getCurrentThreadAllocatedBytes();
+    }
+}
@@ -0,0 +1,119 @@
+import java.util.Arrays;
+
+/**
+ * Uniform spatial hash over bullet indices, rebuilt once per frame with a
+ * counting sort so it never allocates in steady state. Each bullet is stored
+ * in the cell holding its top-left corner; queries widen the searched range
+ * by the bullet size so nothing straddling a cell edge is missed.
+ */
+public class BulletHash {
+    private final int columns;
+    private final int rows;
+    private final int cellSize;
+    private final int[] cellStart;
+    private final int[] cellCount;
+
+    private int[] entries = new int[64];
+    private int[] entryCell = new int[64];
+    private int[] results = new int[64];
+
+    public BulletHash(int columns, int rows, int cellSize) {
+        this.columns = columns;
+        this.rows = rows;
+        this.cellSize = cellSize;
+        this.cellStart = new int[columns * rows + 1];
+        this.cellCount = new int[columns * rows];
+    }
+
+    public void rebuild(BulletSystem bullets) {
+        int size = bullets.size();
+        if (entries.length < size) {
+            int capacity = Math.max(size, entries.length * 2);
+            entries = new int[capacity];
+            entryCell = new int[capacity];
+            results = new int[capacity];
+        }
+
+        Arrays.fill(cellCount, 0);
+
+        for (int i = 0; i < size; i++) {
+            if (!bullets.isActive(i)) {
+                entryCell[i] = -1;
+                continue;
+            }
+
+            int cell = toRow(bullets.getY(i)) * columns + toColumn(bullets.getX(i));
+            entryCell[i] = cell;
+            cellCount[cell]++;
+        }
+
+        cellStart[0] = 0;
+        for (int c = 0; c < cellCount.length; c++) {
+            cellStart[c + 1] = cellStart[c] + cellCount[c];
+            cellCount[c] = 0;
+        }
+
+        for (int i = 0; i < size; i++) {
+            int cell = entryCell[i];
+            if (cell < 0) continue;
+            entries[cellStart[cell] + cellCount[cell]++] = i;
+        }
+    }
+
+    /**
+     * Collects the indices of bullets whose boxes may overlap the given area.
+     * Returns the number of candidates, readable through {@link #getCandidate}.
+     */
+    public int query(float minX, float minY, float maxX, float maxY) {
+        int minCx = toColumn(minX - BulletSystem.SIZE);
+        int minCy = toRow(minY - BulletSystem.SIZE);
+        int maxCx = toColumn(maxX);
+        int maxCy = toRow(maxY);
+
+        int found = 0;
+        for (int cy = minCy; cy <= maxCy; cy++) {
+            for (int cx = minCx; cx <= maxCx; cx++) {
+                int cell = cy * columns + cx;
+                for (int e = cellStart[cell]; e < cellStart[cell + 1]; e++) {
+                    results[found++] = entries[e];
+                }
+            }
+        }
+        return found;
+    }
+
+    public int getCellCount() {
+        return cellCount.length;
+    }
+
+    /**
+     * Entries are stored grouped by cell in row-major order, so the bullets of
+     * any contiguous range of cells occupy entries
+     * {@code [getCellStart(first), getCellStart(last + 1))}.
+     */
+    public int getCellStart(int cell) {
+        return cellStart[cell];
+    }
+
+    public int getEntry(int entry) {
+        return entries[entry];
+    }
+
+    public int getCandidate(int index) {
+        return results[index];
+    }
+
+    private int toColumn(float x) {
+        return clamp((int)Math.floor(x / cellSize), columns);
+    }
+
+    private int toRow(float y) {
+        return clamp((int)Math.floor(y / cellSize), rows);
+    }
+
+    private static int clamp(int value, int size) {
+        if (value < 0) return 0;
+        if (value >= size) return size - 1;
+        return value;
+    }
+}
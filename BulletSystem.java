@@ -0,0 +1,198 @@
+import java.awt.Rectangle;
+import java.util.Arrays;
+
+/**
+ * Structure-of-arrays bullet store. Every bullet is a slot in a set of
+ * primitive arrays; expired bullets are removed by moving the last slot into
+ * their place, so spawning, moving and removing bullets allocates nothing once
+ * the arrays have grown to the peak bullet count.
+ */
+public class BulletSystem {
+    public static final int SIZE = 8;
+
+    private static final byte FLAG_ACTIVE = 1;
+    private static final byte FLAG_FROM_PLAYER = 2;
+    private static final byte FLAG_FAST = 4;
+    private static final byte FLAG_STEEL_PIERCING = 8;
+
+    private static final GameObject.Direction[] DIRECTIONS = GameObject.Direction.values();
+
+    private float[] x;
+    private float[] y;
+    private float[] prevX;
+    private float[] prevY;
+    private byte[] direction;
+    private byte[] flags;
+    private int[] owner;
+    private int count;
+
+    private final int[] sprites = new int[DIRECTIONS.length];
+    private SpriteAtlas atlas;
+
+    public BulletSystem() {
+        this(64);
+    }
+
+    public BulletSystem(int initialCapacity) {
+        x = new float[initialCapacity];
+        y = new float[initialCapacity];
+        prevX = new float[initialCapacity];
+        prevY = new float[initialCapacity];
+        direction = new byte[initialCapacity];
+        flags = new byte[initialCapacity];
+        owner = new int[initialCapacity];
+        Arrays.fill(sprites, SpriteAtlas.NO_SPRITE);
+    }
+
+    public void setResourceManager(ResourceManager resourceManager) {
+        if (resourceManager == null) return;
+
+        atlas = resourceManager.getAtlas();
+        sprites[GameObject.Direction.UP.ordinal()] = resourceManager.getSpriteHandle("bullet_up");
+        sprites[GameObject.Direction.DOWN.ordinal()] = resourceManager.getSpriteHandle("bullet_down");
+        sprites[GameObject.Direction.LEFT.ordinal()] = resourceManager.getSpriteHandle("bullet_left");
+        sprites[GameObject.Direction.RIGHT.ordinal()] = resourceManager.getSpriteHandle("bullet_right");
+    }
+
+    public int spawn(float bulletX, float bulletY, GameObject.Direction dir, boolean fromPlayer,
+                     boolean fastBullet, boolean steelPiercing, int ownerId) {
+        if (count == x.length) {
+            grow();
+        }
+
+        int i = count++;
+        x[i] = bulletX;
+        y[i] = bulletY;
+        prevX[i] = bulletX;
+        prevY[i] = bulletY;
+        direction[i] = (byte)dir.ordinal();
+        flags[i] = (byte)(FLAG_ACTIVE
+                | (fromPlayer ? FLAG_FROM_PLAYER : 0)
+                | (fastBullet ? FLAG_FAST : 0)
+                | (steelPiercing ? FLAG_STEEL_PIERCING : 0));
+        owner[i] = ownerId;
+        return i;
+    }
+
+    public void update(int i) {
+        prevX[i] = x[i];
+        prevY[i] = y[i];
+        x[i] += getStepX(i);
+        y[i] += getStepY(i);
+    }
+
+    /**
+     * Removes slot {@code i} by moving the last bullet into it. Indices below
+     * {@code i} are left untouched.
+     */
+    public void remove(int i) {
+        int last = --count;
+        if (i != last) {
+            x[i] = x[last];
+            y[i] = y[last];
+            prevX[i] = prevX[last];
+            prevY[i] = prevY[last];
+            direction[i] = direction[last];
+            flags[i] = flags[last];
+            owner[i] = owner[last];
+        }
+    }
+
+    public void clear() {
+        count = 0;
+    }
+
+    public int size() {
+        return count;
+    }
+
+    public float getX(int i) { return x[i]; }
+    public float getY(int i) { return y[i]; }
+    public float getPrevX(int i) { return prevX[i]; }
+    public float getPrevY(int i) { return prevY[i]; }
+    public int getOwner(int i) { return owner[i]; }
+    public GameObject.Direction getDirection(int i) { return DIRECTIONS[direction[i]]; }
+
+    public boolean isActive(int i) { return (flags[i] & FLAG_ACTIVE) != 0; }
+    public boolean isFromPlayer(int i) { return (flags[i] & FLAG_FROM_PLAYER) != 0; }
+    public boolean isFast(int i) { return (flags[i] & FLAG_FAST) != 0; }
+    public boolean isSteelPiercing(int i) { return (flags[i] & FLAG_STEEL_PIERCING) != 0; }
+
+    public void deactivate(int i) {
+        flags[i] &= ~FLAG_ACTIVE;
+    }
+
+    public void moveTo(int i, float newX, float newY) {
+        x[i] = newX;
+        y[i] = newY;
+    }
+
+    public float getStepX(int i) {
+        float speed = Bullet.speedFor(isFast(i));
+        switch (DIRECTIONS[direction[i]]) {
+            case LEFT:  return -speed;
+            case RIGHT: return speed;
+            default:    return 0;
+        }
+    }
+
+    public float getStepY(int i) {
+        float speed = Bullet.speedFor(isFast(i));
+        switch (DIRECTIONS[direction[i]]) {
+            case UP:   return -speed;
+            case DOWN: return speed;
+            default:   return 0;
+        }
+    }
+
+    public boolean isOutsidePlayableArea(int i) {
+        int playableAreaStart = Level.getPlayableAreaStart() * Level.CELL_SIZE;
+        int playableAreaEnd = (Level.getPlayableAreaStart() + Level.getPlayableAreaSize()) * Level.CELL_SIZE;
+
+        return x[i] < playableAreaStart || x[i] > playableAreaEnd - 1 ||
+               y[i] < playableAreaStart || y[i] > playableAreaEnd - 1;
+    }
+
+    public boolean intersects(int i, int j) {
+        int ax = (int)x[i], ay = (int)y[i];
+        int bx = (int)x[j], by = (int)y[j];
+        return ax < bx + SIZE && ax + SIZE > bx && ay < by + SIZE && ay + SIZE > by;
+    }
+
+    public float hitTime(int i, Rectangle target) {
+        return SweptAabb.hitTime(prevX[i], prevY[i], SIZE, SIZE,
+                                 x[i] - prevX[i], y[i] - prevY[i],
+                                 target.x, target.y, target.width, target.height);
+    }
+
+    /**
+     * Tests bullet {@code moved}, which has already moved this tick, against
+     * bullet {@code pending}, which has not, using their relative motion.
+     */
+    public float hitTime(int moved, int pending) {
+        float dx = (x[moved] - prevX[moved]) - getStepX(pending);
+        float dy = (y[moved] - prevY[moved]) - getStepY(pending);
+
+        return SweptAabb.hitTime(prevX[moved], prevY[moved], SIZE, SIZE, dx, dy,
+                                 x[pending], y[pending], SIZE, SIZE);
+    }
+
+    public void capture(WorldSnapshot snapshot) {
+        for (int i = 0; i < count; i++) {
+            if (isActive(i)) {
+                snapshot.addMovingSprite(sprites[direction[i]], prevX[i], prevY[i], x[i], y[i], 1.0f);
+            }
+        }
+    }
+
+    private void grow() {
+        int capacity = Math.max(16, x.length * 2);
+        x = Arrays.copyOf(x, capacity);
+        y = Arrays.copyOf(y, capacity);
+        prevX = Arrays.copyOf(prevX, capacity);
+        prevY = Arrays.copyOf(prevY, capacity);
+        direction = Arrays.copyOf(direction, capacity);
+        flags = Arrays.copyOf(flags, capacity);
+        owner = Arrays.copyOf(owner, capacity);
+    }
+}
@@ -1,29 +1,74 @@
-import java.awt.Graphics2D;
-import java.util.ArrayList;
+import java.awt.Rectangle;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
-import java.util.Timer;
-import java.util.TimerTask;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 public class CollisionManager {
-    private List<Wall> walls;
+    private TileMap tileMap;
+    private final SweepAndPrune<Tank> tankBroadPhase = new SweepAndPrune<>();
+    private final Set<Tank> overlappingTanks = Collections.newSetFromMap(new IdentityHashMap<>());
     private List<Tank> tanks;
-    private List<Bullet> bullets;
+    private final BulletSystem bullets = new BulletSystem();
     private List<PowerUp> powerUps;
     private Tank playerTank;
     private Eagle eagle;
     private ResourceManager resourceManager;
-    private List<Explosion> explosions = new ArrayList<>();
+    private final EffectSystem effects = new EffectSystem();
+    private GameScheduler scheduler = new GameScheduler();
+    private GameClock clock = new GameClock();
+    private GameEngine gameEngine;
+
+    private int[] hitCells = new int[64];
+    private float[] wallTimes = new float[64];
+    private Tank[] hitTanks = new Tank[64];
+    private float[] tankTimes = new float[64];
+    private float[] eagleTimes = new float[64];
+    private boolean[] precomputed = new boolean[64];
+
+    private ForkJoinPool collisionPool;
+    private float[] dirtyRegions = new float[32];
+    private int dirtyCount = 0;
+    private static final int PARALLEL_MIN_BULLETS = 256;
+    private static final int PARALLEL_LEAF_BULLETS = 64;
+
+    private final BulletHash bulletHash = new BulletHash(Level.getGridWidth(), Level.getGridHeight(), Level.CELL_SIZE);
 
     private boolean gameOverScheduled = false;
     private static final long GAME_OVER_DELAY = 2000;
     private static final long SHOVEL_DURATION = 15000;
+    private static final long PLAYER_FREEZE_DURATION = 3000;
+    private static final long ENEMY_FREEZE_DURATION = 5000;
 
     public CollisionManager() {
-        bullets = new ArrayList<>();
     }
     
-    public void setWalls(List<Wall> walls) {
-        this.walls = walls;
+    public void setTileMap(TileMap tileMap) {
+        this.tileMap = tileMap;
+    }
+    
+    /**
+     * Enables the parallel collision mode. Hit detection for bullets is split
+     * by arena region and run on the pool, then applied in the same order as
+     * the sequential path. Pass null to go back to a single thread.
+     */
+    public void setCollisionPool(ForkJoinPool collisionPool) {
+        this.collisionPool = collisionPool;
+    }
+    
+    public void setGameEngine(GameEngine gameEngine) {
+        this.gameEngine = gameEngine;
+    }
+    
+    public void setClock(GameClock clock) {
+        this.clock = clock;
+    }
+    
+    public void setScheduler(GameScheduler scheduler) {
+        this.scheduler = scheduler;
     }
     
     public void setTanks(List<Tank> tanks) {
@@ -44,64 +89,77 @@ public class CollisionManager {
     
     public void setResourceManager(ResourceManager resourceManager) {
         this.resourceManager = resourceManager;
+        bullets.setResourceManager(resourceManager);
+        effects.setResourceManager(resourceManager);
     }
     
-    public void addBullet(Bullet bullet) {
-        if (bullet != null) {
-            bullets.add(bullet);
-        }
+    public boolean fire(Tank tank) {
+        return tank != null && tank.shoot(bullets);
+    }
+
+    public BulletSystem getBulletSystem() {
+        return bullets;
     }
 
     private Level getLevelReference() {
-        return GameEngine.getCurrentLevel();
+        return gameEngine != null ? gameEngine.getCurrentLevel() : null;
     }
 
     public void update() {
+    effects.update(clock.millis());
     checkPlayerBulletLimits();
+    bulletHash.rebuild(bullets);
+    ensureHitCapacity(bullets.size());
+    dirtyCount = 0;
+
+    boolean parallel = collisionPool != null && bullets.size() >= PARALLEL_MIN_BULLETS;
+    if (parallel) {
+        collisionPool.invoke(new HitDetectionTask(this, 0, bulletHash.getCellCount()));
+    }
 
     for (int i = bullets.size() - 1; i >= 0; i--) {
-        Bullet bullet = bullets.get(i);
-        bullet.update();
+        bullets.update(i);
         
-        if (!bullet.isActive()) {
+        if (!bullets.isActive(i)) {
             bullets.remove(i);
             continue;
         }
         
-        if (walls != null) {
-            for (Wall wall : walls) {
-                if (wall.isActive() && bullet.intersects(wall)) {
-                    if (wall.blocksBullet()) {
-                        createExplosion(bullet.getX(), bullet.getY());
-                        if (wall.getWallType() == Wall.WallType.STEEL && 
-                            bullet.isFromPlayer() && bullet.isSteelPiercing()) {
-                            wall.setActive(false);
-                        } else if (wall.getWallType() == Wall.WallType.STEEL) {
-                            bullet.setActive(false);
-                        } else {
-                            bullet.setActive(false);
-                            if (wall.isDestructible()) {
-                                wall.setActive(false);
-                            }
-                        }
-                        break;
-                    }
-                }
-            }
+        if (!parallel || !precomputed[i] || isInDirtyRegion(i)) {
+            detectHits(i, bullets.getPrevX(i), bullets.getPrevY(i), bullets.getX(i), bullets.getY(i));
         }
+        precomputed[i] = false;
 
-        for (int k = explosions.size() - 1; k >= 0; k--) {
-        Explosion explosion = explosions.get(k);
-        explosion.update();
-        
-        if (!explosion.isActive()) {
-            explosions.remove(k);
+        int hitCell = hitCells[i];
+        float wallTime = wallTimes[i];
+        Tank hitTank = hitTanks[i];
+        float tankTime = tankTimes[i];
+        float eagleTime = eagleTimes[i];
+        hitTanks[i] = null;
+
+        if (hitCell >= 0 && wallTime <= eagleTime && wallTime <= tankTime) {
+            int column = hitCell % tileMap.getColumns();
+            int row = hitCell / tileMap.getColumns();
+            Wall.WallType wallType = tileMap.typeAt(column, row);
+
+            createExplosion(contactX(i, wallTime), contactY(i, wallTime));
+            if (wallType == Wall.WallType.STEEL && 
+                bullets.isFromPlayer(i) && bullets.isSteelPiercing(i)) {
+                tileMap.destroy(column, row);
+                markDirty(column * tileMap.getCellSize(), row * tileMap.getCellSize(),
+                          tileMap.getCellSize(), tileMap.getCellSize());
+            } else {
+                stopAtContact(i, wallTime);
+                if (wallType.isDestructible()) {
+                    chipBricks(i);
+                }
             }
         }
-        
-        if (eagle != null && bullet.intersects(eagle) && !eagle.isDestroyed()) {
-            bullet.setActive(false);
+
+        if (bullets.isActive(i) && eagleTime != SweptAabb.NO_HIT && eagleTime <= tankTime) {
+            bullets.deactivate(i);
             eagle.destroy();
+            markDirty(eagle.getBounds());
 
             if (!gameOverScheduled) {
                 gameOverScheduled = true;
@@ -111,57 +169,51 @@ public class CollisionManager {
             break;
         }
         
-        if (tanks != null) {
-            for (Tank tank : tanks) {
-                if (!bullet.isActive()) break;
+        if (bullets.isActive(i) && hitTank != null) {
+            Tank tank = hitTank;
+            createExplosion(contactX(i, tankTime), contactY(i, tankTime));
+
+            stopAtContact(i, tankTime);
+            markDirty(tank.getBounds());
+            tank.takeDamage();
+            markDirty(tank.getBounds());
+            
+            if (!tank.isActive() && tank.isPlayer()) {
+                Level level = getLevelReference();
+                if (level != null) {
+                    level.setPlayerHealth(tank.getHealth());
+                }
                 
-                if (tank.isActive() && bullet.intersects(tank)) {
-                    if (bullet.isFromPlayer() != tank.isPlayer()) {
-                        createExplosion(bullet.getX(), bullet.getY());
-
-                        bullet.setActive(false);
-                        tank.takeDamage();
-                        
-                        if (!tank.isActive() && tank.isPlayer()) {
-                            Level level = getLevelReference();
-                            if (level != null) {
-                                level.setPlayerHealth(tank.getHealth());
-                            }
-                            
-                            if (!gameOverScheduled) {
-                                gameOverScheduled = true;
-                                scheduleGameOver();
-                            }
-                        }
-
-                        if (!tank.isActive() && !tank.isPlayer() && bullet.isFromPlayer()) {
-                            GameEngine gameEngine = GameEngine.getInstance();
-                             if (gameEngine != null) {
-                                gameEngine.addScore(tank.getPointValue());
-                            }
-                            
-                            Level level = getLevelReference();
-                            if (level != null) {
-                                level.scheduleEnemyRespawn(tank.getId());
-                            }
-                        }
-                        break;
-                    }
+                if (!gameOverScheduled) {
+                    gameOverScheduled = true;
+                    scheduleGameOver();
+                }
+            }
+
+            if (!tank.isActive() && !tank.isPlayer() && bullets.isFromPlayer(i)) {
+                 if (gameEngine != null) {
+                    gameEngine.addScore(tank.getPointValue());
+                }
+                
+                Level level = getLevelReference();
+                if (level != null) {
+                    level.scheduleEnemyRespawn(tank.getId());
                 }
             }
         }
+
+        if (bullets.isActive(i) && bullets.isOutsidePlayableArea(i)) {
+            bullets.deactivate(i);
+        }
         
-        for (int j = i - 1; j >= 0; j--) {
-            Bullet otherBullet = bullets.get(j);
-            if (bullet.isActive() && otherBullet.isActive() && bullet.intersects(otherBullet)) {
-                 float midX = (bullet.getX() + otherBullet.getX()) / 2;
-                float midY = (bullet.getY() + otherBullet.getY()) / 2;
-                createExplosion(midX, midY);
-
-                bullet.setActive(false);
-                otherBullet.setActive(false);
-                break;
-            }
+        int j = bullets.isActive(i) ? findBulletHit(i) : -1;
+        if (j >= 0) {
+            float midX = (bullets.getX(i) + bullets.getX(j)) / 2;
+            float midY = (bullets.getY(i) + bullets.getY(j)) / 2;
+            createExplosion(midX, midY);
+
+            bullets.deactivate(i);
+            bullets.deactivate(j);
         }
     }
     
@@ -186,32 +238,28 @@ public class CollisionManager {
     handleTankCollisions();
     }
     private void scheduleGameOver() {
-        Timer timer = new Timer();
-        timer.schedule(new TimerTask() {
-            @Override
-            public void run() {
-                Level level = getLevelReference();
-                if (level != null) {
-                    level.triggerGameOver();
-                }
-                timer.cancel();
+        scheduler.schedule(GAME_OVER_DELAY, () -> {
+            Level level = getLevelReference();
+            if (level != null) {
+                level.triggerGameOver();
             }
-        }, GAME_OVER_DELAY);
+        });
     }
     
+    /**
+     * Tank-vs-tank overlaps are all found first and every tank in one is then
+     * pushed back once. The old nested loop pushed tanks back one at a time, so
+     * a tank whose partner had already backed off stayed put; now both back
+     * off on the same tick.
+     */
     private void handleTankCollisions() {
         if (tanks == null) return;
         
         for (Tank tank : tanks) {
             if (!tank.isActive()) continue;
             
-            if (walls != null) {
-                for (Wall wall : walls) {
-                    if (wall.isActive() && wall.blocksMovement() && tank.intersects(wall)) {
-                        pushBackTank(tank);
-                        break;
-                    }
-                }
+            if (tileMap != null && touchesBlockingTile(tank)) {
+                pushBackTank(tank);
             }
 
             if (eagle != null && tank.intersects(eagle)) {
@@ -219,14 +267,277 @@ public class CollisionManager {
                     pushBackTank(tank);
                 }
             }
-            
-            for (Tank otherTank : tanks) {
-                if (tank != otherTank && tank.isActive() && otherTank.isActive() && tank.intersects(otherTank)) {
-                    pushBackTank(tank);
-                    break;
+        }
+
+        overlappingTanks.clear();
+        tankBroadPhase.findOverlaps(tanks, (tank, otherTank) -> {
+            overlappingTanks.add(tank);
+            overlappingTanks.add(otherTank);
+        });
+
+        for (Tank tank : overlappingTanks) {
+            pushBackTank(tank);
+        }
+    }
+
+    public int getTankCandidatePairCount() {
+        return tankBroadPhase.getCandidatePairCount();
+    }
+
+    /**
+     * Finds the first wall, tank and eagle contact of a bullet moving from
+     * (prevX, prevY) to (x, y) and stores them at slot {@code i} of the hit
+     * buffers. Only reads shared state, so it is safe to run for different
+     * bullets at the same time.
+     */
+    private void detectHits(int i, float prevX, float prevY, float x, float y) {
+        findWallHit(i, prevX, prevY, x, y);
+        findTankHit(i, prevX, prevY, x, y);
+
+        if (eagle != null && !eagle.isDestroyed()) {
+            Rectangle target = eagle.getBounds();
+            eagleTimes[i] = SweptAabb.hitTime(prevX, prevY, BulletSystem.SIZE, BulletSystem.SIZE,
+                                              x - prevX, y - prevY,
+                                              target.x, target.y, target.width, target.height);
+        } else {
+            eagleTimes[i] = SweptAabb.NO_HIT;
+        }
+    }
+
+    private void findWallHit(int i, float prevX, float prevY, float x, float y) {
+        int hitCell = -1;
+        float hitTime = SweptAabb.NO_HIT;
+
+        if (tileMap != null) {
+            int minColumn = tileMap.toColumn(Math.min(prevX, x));
+            int maxColumn = tileMap.toColumn(Math.max(prevX, x) + BulletSystem.SIZE - 1);
+            int minRow = tileMap.toRow(Math.min(prevY, y));
+            int maxRow = tileMap.toRow(Math.max(prevY, y) + BulletSystem.SIZE - 1);
+
+            for (int row = minRow; row <= maxRow; row++) {
+                for (int column = minColumn; column <= maxColumn; column++) {
+                    if (!tileMap.blocksBullet(column, row)) continue;
+
+                    float time = tileMap.sweep(column, row, prevX, prevY, BulletSystem.SIZE, BulletSystem.SIZE,
+                                               x - prevX, y - prevY);
+                    if (time < hitTime) {
+                        hitTime = time;
+                        hitCell = row * tileMap.getColumns() + column;
+                    }
+                }
+            }
+        }
+
+        hitCells[i] = hitCell;
+        wallTimes[i] = hitTime;
+    }
+
+    private void findTankHit(int i, float prevX, float prevY, float x, float y) {
+        Tank hitTank = null;
+        float hitTime = SweptAabb.NO_HIT;
+
+        if (tanks != null) {
+            boolean fromPlayer = bullets.isFromPlayer(i);
+            for (Tank tank : tanks) {
+                if (!tank.isActive() || fromPlayer == tank.isPlayer()) continue;
+
+                Rectangle target = tank.getBounds();
+                float time = SweptAabb.hitTime(prevX, prevY, BulletSystem.SIZE, BulletSystem.SIZE,
+                                               x - prevX, y - prevY,
+                                               target.x, target.y, target.width, target.height);
+                if (time < hitTime) {
+                    hitTime = time;
+                    hitTank = tank;
                 }
             }
         }
+
+        hitTanks[i] = hitTank;
+        tankTimes[i] = hitTime;
+    }
+
+    /**
+     * Runs {@link #detectHits} for every bullet in the start-of-frame hash,
+     * with the move each bullet is about to make. Used by the parallel mode.
+     */
+    private void precomputeHits(int firstEntry, int lastEntry) {
+        for (int e = firstEntry; e < lastEntry; e++) {
+            int i = bulletHash.getEntry(e);
+            float prevX = bullets.getX(i);
+            float prevY = bullets.getY(i);
+
+            detectHits(i, prevX, prevY, prevX + bullets.getStepX(i), prevY + bullets.getStepY(i));
+            precomputed[i] = true;
+        }
+    }
+
+    private void ensureHitCapacity(int size) {
+        if (hitCells.length >= size) return;
+
+        int capacity = Math.max(size, hitCells.length * 2);
+        hitCells = new int[capacity];
+        wallTimes = new float[capacity];
+        hitTanks = new Tank[capacity];
+        tankTimes = new float[capacity];
+        eagleTimes = new float[capacity];
+        precomputed = new boolean[capacity];
+    }
+
+    private void markDirty(Rectangle bounds) {
+        markDirty(bounds.x, bounds.y, bounds.width, bounds.height);
+    }
+
+    /**
+     * Records an area whose terrain, tanks or eagle changed during this frame.
+     * Precomputed hits of bullets whose path touches such an area are
+     * recomputed so the result matches the sequential order exactly.
+     */
+    private void markDirty(float x, float y, float width, float height) {
+        if (dirtyCount * 4 == dirtyRegions.length) {
+            dirtyRegions = Arrays.copyOf(dirtyRegions, dirtyRegions.length * 2);
+        }
+        int d = dirtyCount++ * 4;
+        dirtyRegions[d] = x;
+        dirtyRegions[d + 1] = y;
+        dirtyRegions[d + 2] = x + width;
+        dirtyRegions[d + 3] = y + height;
+    }
+
+    private boolean isInDirtyRegion(int i) {
+        float minX = Math.min(bullets.getPrevX(i), bullets.getX(i));
+        float minY = Math.min(bullets.getPrevY(i), bullets.getY(i));
+        float maxX = Math.max(bullets.getPrevX(i), bullets.getX(i)) + BulletSystem.SIZE;
+        float maxY = Math.max(bullets.getPrevY(i), bullets.getY(i)) + BulletSystem.SIZE;
+
+        for (int d = 0; d < dirtyCount * 4; d += 4) {
+            if (minX <= dirtyRegions[d + 2] && maxX >= dirtyRegions[d] &&
+                minY <= dirtyRegions[d + 3] && maxY >= dirtyRegions[d + 1]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static class HitDetectionTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final CollisionManager manager;
+        private final int firstCell;
+        private final int lastCell;
+
+        HitDetectionTask(CollisionManager manager, int firstCell, int lastCell) {
+            this.manager = manager;
+            this.firstCell = firstCell;
+            this.lastCell = lastCell;
+        }
+
+        @Override
+        protected void compute() {
+            BulletHash hash = manager.bulletHash;
+            int firstEntry = hash.getCellStart(firstCell);
+            int lastEntry = hash.getCellStart(lastCell);
+
+            if (lastEntry - firstEntry <= PARALLEL_LEAF_BULLETS || lastCell - firstCell <= 1) {
+                manager.precomputeHits(firstEntry, lastEntry);
+                return;
+            }
+
+            int middle = (firstCell + lastCell) >>> 1;
+            invokeAll(new HitDetectionTask(manager, firstCell, middle),
+                      new HitDetectionTask(manager, middle, lastCell));
+        }
+    }
+
+    /**
+     * Knocks out the brick sub-blocks in front of a stopped bullet: a band two
+     * bullets wide across the direction of travel and one bullet deep past the
+     * contact face, which may span two neighbouring bricks.
+     */
+    private void chipBricks(int bullet) {
+        float x = bullets.getX(bullet);
+        float y = bullets.getY(bullet);
+        int size = BulletSystem.SIZE;
+
+        int impactSize = size * 2;
+        float impactX, impactY;
+
+        switch (bullets.getDirection(bullet)) {
+            case UP:    impactX = x - size / 2; impactY = y - size;     break;
+            case DOWN:  impactX = x - size / 2; impactY = y;            break;
+            case LEFT:  impactX = x - size;     impactY = y - size / 2; break;
+            default:    impactX = x;            impactY = y - size / 2; break;
+        }
+
+        int firstColumn = tileMap.toColumn(impactX);
+        int lastColumn = tileMap.toColumn(impactX + impactSize - 1);
+        int firstRow = tileMap.toRow(impactY);
+        int lastRow = tileMap.toRow(impactY + impactSize - 1);
+
+        for (int row = firstRow; row <= lastRow; row++) {
+            for (int column = firstColumn; column <= lastColumn; column++) {
+                if (tileMap.typeAt(column, row) == Wall.WallType.BRICK) {
+                    tileMap.chip(column, row, impactX, impactY, impactSize, impactSize);
+                    markDirty(column * tileMap.getCellSize(), row * tileMap.getCellSize(),
+                              tileMap.getCellSize(), tileMap.getCellSize());
+                }
+            }
+        }
+    }
+
+    private boolean touchesBlockingTile(GameObject object) {
+        Rectangle bounds = object.getBounds();
+
+        for (int row = tileMap.firstRow(bounds); row <= tileMap.lastRow(bounds); row++) {
+            for (int column = tileMap.firstColumn(bounds); column <= tileMap.lastColumn(bounds); column++) {
+                if (tileMap.blocksMovement(column, row) && tileMap.overlapsSolid(column, row, bounds)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the highest index below {@code bullet} of a bullet colliding with
+     * it, or -1. Bullets below {@code bullet} have not moved yet this frame, so
+     * the hash built at the start of the frame is still exact for them.
+     */
+    private int findBulletHit(int bullet) {
+        float reach = Bullet.getMaxSpeed();
+        float minX = Math.min(bullets.getPrevX(bullet), bullets.getX(bullet)) - reach;
+        float minY = Math.min(bullets.getPrevY(bullet), bullets.getY(bullet)) - reach;
+        float maxX = Math.max(bullets.getPrevX(bullet), bullets.getX(bullet)) + BulletSystem.SIZE + reach;
+        float maxY = Math.max(bullets.getPrevY(bullet), bullets.getY(bullet)) + BulletSystem.SIZE + reach;
+
+        int match = -1;
+        int candidates = bulletHash.query(minX, minY, maxX, maxY);
+        for (int k = 0; k < candidates; k++) {
+            int j = bulletHash.getCandidate(k);
+            if (j >= bullet || j <= match) continue;
+
+            if (bullets.isActive(j) && bulletsCollide(bullet, j)) {
+                match = j;
+            }
+        }
+        return match;
+    }
+
+    private boolean bulletsCollide(int bullet, int otherBullet) {
+        return bullets.intersects(bullet, otherBullet)
+            || bullets.hitTime(bullet, otherBullet) != SweptAabb.NO_HIT;
+    }
+
+    private float contactX(int bullet, float time) {
+        return bullets.getPrevX(bullet) + (bullets.getX(bullet) - bullets.getPrevX(bullet)) * time;
+    }
+
+    private float contactY(int bullet, float time) {
+        return bullets.getPrevY(bullet) + (bullets.getY(bullet) - bullets.getPrevY(bullet)) * time;
+    }
+
+    private void stopAtContact(int bullet, float time) {
+        bullets.moveTo(bullet, contactX(bullet, time), contactY(bullet, time));
+        bullets.deactivate(bullet);
     }
 
     private void applyEnemyPowerUp(Tank enemyTank, PowerUp powerUp) {
@@ -243,15 +554,8 @@ public class CollisionManager {
             case TIMER:
                 if (playerTank != null && playerTank.isActive()) {
                     playerTank.freeze();
-                    new java.util.Timer().schedule(
-                        new java.util.TimerTask() {
-                            @Override
-                            public void run() {
-                                playerTank.unfreeze();
-                            }
-                        }, 
-                        3000
-                    );
+                    Tank frozenPlayer = playerTank;
+                    scheduler.schedule(PLAYER_FREEZE_DURATION, frozenPlayer::unfreeze);
                 }
                 break;
             case GRENADE:
@@ -270,7 +574,7 @@ public class CollisionManager {
     }
 
     private void clearBricksAroundEnemyTank(Tank enemyTank) {
-    if (walls == null || enemyTank == null) return;
+    if (tileMap == null || enemyTank == null) return;
     
     int tankGridX = (int)(enemyTank.getX() / 32);
     int tankGridY = (int)(enemyTank.getY() / 32);
@@ -282,29 +586,16 @@ public class CollisionManager {
         {-1,  1}, {0,  1}, {1,  1}   
     };
     
-    List<Wall> wallsToRemove = new ArrayList<>();
-    
     for (int[] dir : directions) {
         int checkX = tankGridX + dir[0];
         int checkY = tankGridY + dir[1];
         
-        for (Wall wall : walls) {
-            if (wall.isActive() && wall.getWallType() == Wall.WallType.BRICK) {
-                int wallGridX = (int)(wall.getX() / 32);
-                int wallGridY = (int)(wall.getY() / 32);
-                
-                if (wallGridX == checkX && wallGridY == checkY) {
-                    wallsToRemove.add(wall);
-                    
-                    System.out.println("Düşman tank brick kaldırdı: (" + checkX + "," + checkY + ")");
-                }
-            }
+        if (tileMap.typeAt(checkX, checkY) == Wall.WallType.BRICK) {
+            tileMap.destroy(checkX, checkY);
+            
+            System.out.println("Düşman tank brick kaldırdı: (" + checkX + "," + checkY + ")");
         }
     }
-    
-    for (Wall wall : wallsToRemove) {
-        wall.setActive(false);
-    }
     }
     
     private void pushBackTank(Tank tank) {
@@ -320,7 +611,6 @@ public class CollisionManager {
     if (powerUp == null || playerTank == null) return;
 
     try {
-        GameEngine gameEngine = GameEngine.getInstance();
         if (gameEngine != null) {
             gameEngine.addScore(PowerUp.POINTS_VALUE);
         }
@@ -351,51 +641,26 @@ public class CollisionManager {
 }
     
     private void protectEagleWithSteel() {
-        if (eagle == null || walls == null || resourceManager == null) return;
+        if (eagle == null || tileMap == null) return;
         
         int eagleX = (int)eagle.getX() / 32;
         int eagleY = (int)eagle.getY() / 32;
 
-        final List<Wall> oldWalls = new ArrayList<>();
-        List<Wall> wallsToRemove = new ArrayList<>();
+        final long[] oldTiles = tileMap.saveRegion(eagleX, eagleY, 1);
         
-        for (Wall wall : walls) {
-        if (Math.abs(wall.getX() / 32 - eagleX) <= 1 && Math.abs(wall.getY() / 32 - eagleY) <= 1) {
-            oldWalls.add(wall);
-            wallsToRemove.add(wall);
+        for (int row = eagleY - 1; row <= eagleY + 1; row++) {
+            for (int column = eagleX - 1; column <= eagleX + 1; column++) {
+                tileMap.clearTile(column, row);
+            }
         }
-    }
-    
-        walls.removeAll(wallsToRemove);
         
-        walls.add(new Wall((eagleX-1) * 32, eagleY * 32, Wall.WallType.STEEL, resourceManager));
-        walls.add(new Wall(eagleX * 32, (eagleY-1) * 32, Wall.WallType.STEEL, resourceManager));
-        walls.add(new Wall((eagleX+1) * 32, eagleY * 32, Wall.WallType.STEEL, resourceManager));
-        walls.add(new Wall((eagleX-1) * 32, (eagleY-1) * 32, Wall.WallType.STEEL, resourceManager));
-        walls.add(new Wall((eagleX+1) * 32, (eagleY-1) * 32, Wall.WallType.STEEL, resourceManager));
-
-        Timer timer = new Timer();
-        timer.schedule(new TimerTask() {
-            @Override
-            public void run() {
-                walls.removeIf(wall -> 
-                    (Math.abs(wall.getX() / 32 - eagleX) <= 1 && Math.abs(wall.getY() / 32 - eagleY) <= 1)
-                );
-                
-                walls.addAll(oldWalls);
-            }
-        }, SHOVEL_DURATION);
+        tileMap.setTile(eagleX - 1, eagleY, Wall.WallType.STEEL);
+        tileMap.setTile(eagleX, eagleY - 1, Wall.WallType.STEEL);
+        tileMap.setTile(eagleX + 1, eagleY, Wall.WallType.STEEL);
+        tileMap.setTile(eagleX - 1, eagleY - 1, Wall.WallType.STEEL);
+        tileMap.setTile(eagleX + 1, eagleY - 1, Wall.WallType.STEEL);
 
-        walls.removeIf(wall -> 
-            (Math.abs(wall.getX() / 32 - eagleX) <= 1 && Math.abs(wall.getY() / 32 - eagleY) <= 1)
-        );
-        
-        walls.add(new Wall((eagleX-1) * 32, eagleY * 32, Wall.WallType.STEEL, resourceManager));
-        walls.add(new Wall(eagleX * 32, (eagleY-1) * 32, Wall.WallType.STEEL, resourceManager));
-        walls.add(new Wall((eagleX+1) * 32, eagleY * 32, Wall.WallType.STEEL, resourceManager));
-        
-        walls.add(new Wall((eagleX-1) * 32, (eagleY-1) * 32, Wall.WallType.STEEL, resourceManager));
-        walls.add(new Wall((eagleX+1) * 32, (eagleY-1) * 32, Wall.WallType.STEEL, resourceManager));
+        scheduler.schedule(SHOVEL_DURATION, () -> tileMap.restoreRegion(eagleX, eagleY, 1, oldTiles));
     }
     
     private void destroyAllEnemies() {
@@ -421,39 +686,22 @@ public class CollisionManager {
         if (tank != null && !tank.isPlayer() && tank.isActive()) {
             tank.freeze();
             
-            new java.util.Timer().schedule(
-                new java.util.TimerTask() {
-                    @Override
-                    public void run() {
-                        tank.unfreeze();
-                    }
-                }, 
-                5000
-            );
+            scheduler.schedule(ENEMY_FREEZE_DURATION, tank::unfreeze);
         }
     }
 }
     
-    public void render(Graphics2D g) {
-        for (Bullet bullet : bullets) {
-            if (bullet.isActive()) {
-                bullet.render(g);
-            }
-        }
-
-        for (Explosion explosion : explosions) {
-        if (explosion.isActive()) {
-            explosion.render(g);
-            }
-        }
+    public void capture(WorldSnapshot snapshot) {
+        bullets.capture(snapshot);
+        effects.capture(snapshot);
     }
 
 public void checkPlayerBulletLimits() {
     if (playerTank == null) return;
     
     int activeBulletCount = 0;
-    for (Bullet bullet : bullets) {
-        if (bullet.isActive() && bullet.isFromPlayer()) {
+    for (int i = 0; i < bullets.size(); i++) {
+        if (bullets.isActive(i) && bullets.isFromPlayer(i)) {
             activeBulletCount++;
         }
     }
@@ -463,9 +711,8 @@ public void checkPlayerBulletLimits() {
     if (activeBulletCount > maxBullets) {
         int count = activeBulletCount;
         for (int i = bullets.size() - 1; i >= 0 && count > maxBullets; i--) {
-            Bullet bullet = bullets.get(i);
-            if (bullet.isActive() && bullet.isFromPlayer()) {
-                bullet.setActive(false);
+            if (bullets.isActive(i) && bullets.isFromPlayer(i)) {
+                bullets.deactivate(i);
                 count--;
             }
         }
@@ -474,8 +721,8 @@ public void checkPlayerBulletLimits() {
 
     public int getActiveBulletCount() {
         int count = 0;
-        for (Bullet bullet : bullets) {
-            if (bullet.isActive()) count++;
+        for (int i = 0; i < bullets.size(); i++) {
+            if (bullets.isActive(i)) count++;
         }
         return count;
     }
@@ -485,6 +732,6 @@ public void checkPlayerBulletLimits() {
     }
 
     private void createExplosion(float x, float y) {
-    explosions.add(new Explosion(x, y, resourceManager));
+    effects.spawnExplosion(x, y);
     }
 }
\ No newline at end of file
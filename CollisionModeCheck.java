@@ -0,0 +1,136 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Runs the same crowded arena through two collision managers, one serial and
+ * one with the parallel hit detection, and compares the complete bullet,
+ * tank and terrain state after every tick. Ordinary matches rarely reach the
+ * bullet count at which the parallel path kicks in, so the arena is packed
+ * with tanks that fire as often as their cooldown allows.
+ *
+ * Usage: java CollisionModeCheck [ticks] [tanks] [parallelism] [seed]
+ */
+public class CollisionModeCheck {
+    private static class Arena {
+        final GameClock clock = new GameClock();
+        final TileMap tileMap = new TileMap(Level.getGridWidth(), Level.getGridHeight(), Level.CELL_SIZE);
+        final List<Tank> tanks = new ArrayList<>();
+        final CollisionManager collisions = new CollisionManager();
+        final SplittableRandom random;
+        int maxBullets;
+
+        Arena(long seed, int tankCount, ResourceManager resourceManager) {
+            random = new SplittableRandom(seed);
+            int start = Level.getPlayableAreaStart();
+            int size = Level.getPlayableAreaSize();
+
+            for (int i = 0; i < size * size / 3; i++) {
+                int column = start + random.nextInt(size);
+                int row = start + random.nextInt(size - 2);
+                tileMap.setTile(column, row, random.nextInt(4) == 0 ? Wall.WallType.STEEL : Wall.WallType.BRICK);
+            }
+
+            Tank player = new Tank(Level.PLAYER_SPAWN_X, Level.PLAYER_SPAWN_Y, true, "player", null, clock);
+            tanks.add(player);
+            int span = (size - 1) * Level.CELL_SIZE;
+            for (int i = 1; i <= tankCount; i++) {
+                Tank tank = new Tank(start * Level.CELL_SIZE + random.nextInt(span),
+                                     start * Level.CELL_SIZE + random.nextInt(span),
+                                     false, i % 4 == 0 ? "armor" : "basic", null, clock);
+                tank.setId(i);
+                tanks.add(tank);
+            }
+
+            collisions.setClock(clock);
+            collisions.setTileMap(tileMap);
+            collisions.setTanks(tanks);
+            collisions.setPowerUps(new ArrayList<>());
+            collisions.setPlayerTank(player);
+            collisions.setEagle(new Eagle((start + size / 2) * Level.CELL_SIZE,
+                                          (start + size - 1) * Level.CELL_SIZE, resourceManager));
+        }
+
+        void step() {
+            clock.advance();
+            GameObject.Direction[] directions = GameObject.Direction.values();
+
+            for (Tank tank : tanks) {
+                if (!tank.isActive()) continue;
+
+                if (random.nextInt(8) == 0) {
+                    tank.setDirection(directions[random.nextInt(directions.length)]);
+                }
+                tank.move(tank.getDirection());
+                tank.update();
+                collisions.fire(tank);
+            }
+
+            collisions.update();
+            maxBullets = Math.max(maxBullets, collisions.getBulletSystem().size());
+        }
+
+        long stateHash() {
+            long hash = 17;
+            BulletSystem bullets = collisions.getBulletSystem();
+
+            hash = mix(hash, bullets.size());
+            for (int i = 0; i < bullets.size(); i++) {
+                hash = mix(hash, Float.floatToIntBits(bullets.getX(i)));
+                hash = mix(hash, Float.floatToIntBits(bullets.getY(i)));
+                hash = mix(hash, bullets.isActive(i) ? 1 : 0);
+                hash = mix(hash, bullets.getDirection(i).ordinal());
+            }
+            for (Tank tank : tanks) {
+                hash = mix(hash, Float.floatToIntBits(tank.getX()));
+                hash = mix(hash, Float.floatToIntBits(tank.getY()));
+                hash = mix(hash, tank.getHealth());
+                hash = mix(hash, tank.isActive() ? 1 : 0);
+            }
+            for (int row = 0; row < tileMap.getRows(); row++) {
+                for (int column = 0; column < tileMap.getColumns(); column++) {
+                    hash = mix(hash, tileMap.maskAt(column, row));
+                }
+            }
+            return hash;
+        }
+
+        private static long mix(long hash, long value) {
+            return (hash ^ value) * 0x100000001B3L;
+        }
+    }
+
+    public static void main(String[] args) {
+        System.setProperty("java.awt.headless", "true");
+
+        int ticks = args.length > 0 ? Integer.parseInt(args[0]) : 600;
+        int tankCount = args.length > 1 ? Integer.parseInt(args[1]) : 400;
+        int parallelism = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+        long seed = args.length > 3 ? Long.parseLong(args[3]) : 1;
+
+        ResourceManager resourceManager = new ResourceManager(true);
+        Arena serial = new Arena(seed, tankCount, resourceManager);
+        Arena parallel = new Arena(seed, tankCount, resourceManager);
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        parallel.collisions.setCollisionPool(pool);
+
+        try {
+            for (int tick = 1; tick <= ticks; tick++) {
+                serial.step();
+                parallel.step();
+
+                if (serial.stateHash() != parallel.stateHash()) {
+                    System.out.printf("MISMATCH at tick %d: serial and parallel collision results differ%n", tick);
+                    System.exit(1);
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        System.out.printf("Serial and parallel collision results identical for %d ticks "
+                          + "(%d tanks, up to %d bullets, parallelism %d)%n",
+                          ticks, tankCount, parallel.maxBullets, parallelism);
+    }
+}
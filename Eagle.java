@@ -1,29 +1,19 @@
-import java.awt.*;
-
 public class Eagle extends GameObject {
-    private ResourceManager resourceManager;
+    private final int sprite;
+    private final int destroyedSprite;
     private boolean destroyed = false;
     
     public Eagle(float x, float y, ResourceManager resourceManager) {
         super(x, y, 32, 32);
-        this.resourceManager = resourceManager;
+        this.sprite = resourceManager.getSpriteHandle("eagle");
+        this.destroyedSprite = resourceManager.getSpriteHandle("eagle_destroyed");
     }
     
     @Override
     public void update() {}
     
-    @Override
-    public void render(Graphics2D g) {
-        if (destroyed) {
-            if (resourceManager.isImageLoaded("eagle_destroyed")) {
-                g.drawImage(resourceManager.getImage("eagle_destroyed"), (int)x, (int)y, null);
-            } 
-        } 
-        else {
-            if (resourceManager.isImageLoaded("eagle")) {
-                g.drawImage(resourceManager.getImage("eagle"), (int)x, (int)y, null);
-            }
-        }
+    public void capture(WorldSnapshot snapshot) {
+        snapshot.addSprite(destroyed ? destroyedSprite : sprite, x, y);
     }
     
     public void destroy() {
@@ -0,0 +1,106 @@
+import java.util.Arrays;
+
+/**
+ * Pooled explosion effects. Each explosion is a slot in primitive arrays and
+ * all of them share one frame table, so spawning an effect neither allocates
+ * nor touches the resource cache. The whole pool is advanced once per frame.
+ */
+public class EffectSystem {
+    private static final int FRAME_DURATION = 80;
+    private static final String[] EXPLOSION_FRAMES = {
+        "explosion_small", "explosion_medium", "explosion_large", "explosion_xl", "explosion_xxl"
+    };
+
+    private final int[] frames = new int[EXPLOSION_FRAMES.length];
+    private SpriteAtlas atlas;
+
+    private float[] x;
+    private float[] y;
+    private int[] frame;
+    private long[] lastFrameTime;
+    private int count;
+    private long now;
+
+    public EffectSystem() {
+        this(32);
+    }
+
+    public EffectSystem(int initialCapacity) {
+        x = new float[initialCapacity];
+        y = new float[initialCapacity];
+        frame = new int[initialCapacity];
+        lastFrameTime = new long[initialCapacity];
+    }
+
+    public void setResourceManager(ResourceManager resourceManager) {
+        if (resourceManager == null) return;
+
+        atlas = resourceManager.getAtlas();
+        for (int i = 0; i < EXPLOSION_FRAMES.length; i++) {
+            frames[i] = resourceManager.getSpriteHandle(EXPLOSION_FRAMES[i]);
+        }
+    }
+
+    public void spawnExplosion(float explosionX, float explosionY) {
+        if (count == x.length) {
+            grow();
+        }
+
+        int i = count++;
+        x[i] = explosionX;
+        y[i] = explosionY;
+        frame[i] = 0;
+        lastFrameTime[i] = now;
+    }
+
+    public void update(long currentTime) {
+        now = currentTime;
+
+        for (int i = count - 1; i >= 0; i--) {
+            if (currentTime - lastFrameTime[i] > FRAME_DURATION) {
+                frame[i]++;
+                lastFrameTime[i] = currentTime;
+
+                if (frame[i] >= frames.length) {
+                    remove(i);
+                }
+            }
+        }
+    }
+
+    public void capture(WorldSnapshot snapshot) {
+        if (atlas == null) return;
+
+        for (int i = 0; i < count; i++) {
+            int sprite = frames[frame[i]];
+            snapshot.addSprite(sprite, (int)x[i] - atlas.getWidth(sprite) / 2, (int)y[i] - atlas.getHeight(sprite) / 2,
+                               0, 0, 1.0f);
+        }
+    }
+
+    public int size() {
+        return count;
+    }
+
+    public void clear() {
+        count = 0;
+    }
+
+    private void remove(int i) {
+        int last = --count;
+        if (i != last) {
+            x[i] = x[last];
+            y[i] = y[last];
+            frame[i] = frame[last];
+            lastFrameTime[i] = lastFrameTime[last];
+        }
+    }
+
+    private void grow() {
+        int capacity = Math.max(16, x.length * 2);
+        x = Arrays.copyOf(x, capacity);
+        y = Arrays.copyOf(y, capacity);
+        frame = Arrays.copyOf(frame, capacity);
+        lastFrameTime = Arrays.copyOf(lastFrameTime, capacity);
+    }
+}
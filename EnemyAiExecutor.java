@@ -0,0 +1,138 @@
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Runs the think-step of every enemy once per tick, split into batches on a
+ * shared fork/join pool the caller owns. A think-step only moves its own tank, reads the eagle and
+ * draws from the tank's own random stream, so batches need no locking and
+ * the result is the same as thinking in list order. Shooting is not part of
+ * it and stays on the ticking thread. Without a pool, or with no more enemies
+ * than fit in one batch, the step runs inline. A stage keeps at most four
+ * enemies alive, so in normal play the step is always inline and the pool
+ * only comes into use in headless load runs with many enemies or a small
+ * batch size.
+ */
+public class EnemyAiExecutor {
+    public static final int DEFAULT_BATCH_SIZE = 16;
+
+    private final ForkJoinPool pool;
+    private final int batchSize;
+
+    private long lastTickNanos;
+    private long maxTickNanos;
+    private long totalTickNanos;
+    private long ticks;
+
+    public EnemyAiExecutor() {
+        this(null, DEFAULT_BATCH_SIZE);
+    }
+
+    public EnemyAiExecutor(ForkJoinPool pool, int batchSize) {
+        this.pool = pool;
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    public void tick(List<Tank> enemies, Eagle eagle) {
+        long start = System.nanoTime();
+        int count = enemies.size();
+        float targetX = eagle.getX();
+        float targetY = eagle.getY();
+
+        if (pool == null || count <= batchSize) {
+            think(enemies, 0, count, targetX, targetY);
+        } else {
+            pool.invoke(new ThinkTask(enemies, 0, count, targetX, targetY));
+        }
+
+        lastTickNanos = System.nanoTime() - start;
+        maxTickNanos = Math.max(maxTickNanos, lastTickNanos);
+        totalTickNanos += lastTickNanos;
+        ticks++;
+    }
+
+    private static void think(List<Tank> enemies, int from, int to, float targetX, float targetY) {
+        for (int i = from; i < to; i++) {
+            think(enemies.get(i), targetX, targetY);
+        }
+    }
+
+    private static void think(Tank enemy, float targetX, float targetY) {
+        if (!enemy.isActive()) return;
+
+        if (enemy.isFrozen()) {
+            enemy.update();
+            return;
+        }
+
+        GameObject.Direction targetDirection = enemy.getDirectionToTarget(targetX, targetY);
+
+        SplittableRandom enemyRandom = enemy.getRandom();
+        if (enemyRandom.nextInt(100) < 60) {
+            enemy.move(targetDirection);
+        } else {
+            GameObject.Direction[] directions = GameObject.Direction.values();
+            enemy.move(directions[enemyRandom.nextInt(directions.length)]);
+        }
+
+        enemy.update();
+    }
+
+    public int getParallelism() {
+        return pool == null ? 1 : pool.getParallelism();
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public long getLastTickNanos() {
+        return lastTickNanos;
+    }
+
+    public long getMaxTickNanos() {
+        return maxTickNanos;
+    }
+
+    public long getAverageTickNanos() {
+        return ticks == 0 ? 0 : totalTickNanos / ticks;
+    }
+
+    public void resetStats() {
+        lastTickNanos = 0;
+        maxTickNanos = 0;
+        totalTickNanos = 0;
+        ticks = 0;
+    }
+
+    private class ThinkTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final List<Tank> enemies;
+        private final int from;
+        private final int to;
+        private final float targetX;
+        private final float targetY;
+
+        ThinkTask(List<Tank> enemies, int from, int to, float targetX, float targetY) {
+            this.enemies = enemies;
+            this.from = from;
+            this.to = to;
+            this.targetX = targetX;
+            this.targetY = targetY;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= batchSize) {
+                think(enemies, from, to, targetX, targetY);
+                return;
+            }
+
+            int middle = (from + to) >>> 1;
+            invokeAll(new ThinkTask(enemies, from, middle, targetX, targetY),
+                      new ThinkTask(enemies, middle, to, targetX, targetY));
+        }
+    }
+}
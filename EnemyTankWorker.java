@@ -1,37 +1,35 @@
 // EnemyTankWorker.java
 
-import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 public class EnemyTankWorker implements Runnable {
     private ThreadSafeTank enemyTank;
     private Eagle eagle;
     private CollisionManager collisionManager;
-    private Random random = new Random();
+    private final SplittableRandom random;
     private volatile boolean running = true;
+    private final AtomicBoolean shotRequested = new AtomicBoolean();
+    private TickGate tickGate;
+    private long lastTick = 0;
     
     public EnemyTankWorker(ThreadSafeTank enemyTank, Eagle eagle, 
                           CollisionManager collisionManager) {
         this.enemyTank = enemyTank;
         this.eagle = eagle;
         this.collisionManager = collisionManager;
+        this.random = enemyTank.getRandom();
     }
     
     @Override
     public void run() {
-        while (running && enemyTank.isActive()) {
+        while (isRunning()) {
             try {
-                updateEnemyAI();
-                
-                enemyTank.update();
-                
-                if (random.nextDouble() < 0.01) {
-                    Bullet bullet = enemyTank.threadSafeShoot();
-                    if (bullet != null) {
-                        collisionManager.addBullet(bullet);
-                    }
+                if (step()) {
+                    shotRequested.set(true);
                 }
                 
-                Thread.sleep(16); 
+                pace();
                 
             } catch (InterruptedException e) {
                 Thread.currentThread().interrupt();
@@ -42,6 +40,59 @@ public class EnemyTankWorker implements Runnable {
         }
     }
     
+    /**
+     * Paces the loop by the game tick when a gate is set, otherwise by a
+     * fixed sleep.
+     */
+    private void pace() throws InterruptedException {
+        if (tickGate == null) {
+            Thread.sleep(16);
+            return;
+        }
+        
+        lastTick = tickGate.awaitAfter(lastTick);
+        if (tickGate.isClosed()) {
+            running = false;
+        }
+    }
+    
+    public void setTickGate(TickGate tickGate) {
+        this.tickGate = tickGate;
+        this.lastTick = tickGate.getTick();
+    }
+    
+    /**
+     * One think-step without any waiting. Returns true if the tank wants to
+     * shoot; the caller decides when the shot is actually fired.
+     */
+    public boolean step() {
+        if (!isRunning()) return false;
+        
+        updateEnemyAI();
+        
+        enemyTank.update();
+        
+        return random.nextDouble() < 0.01;
+    }
+    
+    /**
+     * Returns and clears a shot asked for by the loop. The shot itself is
+     * fired by the game thread through {@link #fire()}.
+     */
+    public boolean takeShotRequest() {
+        return shotRequested.getAndSet(false);
+    }
+    
+    public void fire() {
+        if (isRunning()) {
+            collisionManager.fire(enemyTank);
+        }
+    }
+    
+    public boolean isRunning() {
+        return running && enemyTank.isActive();
+    }
+    
     private void updateEnemyAI() {
         if (enemyTank.isFrozen()) return;
         
@@ -0,0 +1,50 @@
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Waits for frame deadlines by sleeping most of the gap and spin-waiting the
+ * last stretch, which sleep granularity would otherwise overshoot. Records how
+ * late each wake-up was so pacing quality can be reported.
+ */
+public class FramePacer {
+    private static final long SPIN_THRESHOLD = 2_000_000L;
+
+    private long frames;
+    private long totalLateness;
+    private long maxLateness;
+
+    public void waitUntil(long deadline) {
+        long remaining = deadline - System.nanoTime();
+
+        while (remaining > SPIN_THRESHOLD) {
+            LockSupport.parkNanos(remaining - SPIN_THRESHOLD);
+            remaining = deadline - System.nanoTime();
+        }
+        while (remaining > 0) {
+            Thread.onSpinWait();
+            remaining = deadline - System.nanoTime();
+        }
+
+        long lateness = -remaining;
+        frames++;
+        totalLateness += lateness;
+        maxLateness = Math.max(maxLateness, lateness);
+    }
+
+    public long getFrameCount() {
+        return frames;
+    }
+
+    public long getAverageJitterNanos() {
+        return frames == 0 ? 0 : totalLateness / frames;
+    }
+
+    public long getMaxJitterNanos() {
+        return maxLateness;
+    }
+
+    public void reset() {
+        frames = 0;
+        totalLateness = 0;
+        maxLateness = 0;
+    }
+}
@@ -0,0 +1,188 @@
+import java.awt.AWTException;
+import java.awt.BufferCapabilities;
+import java.awt.Canvas;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.ImageCapabilities;
+import java.awt.RenderingHints;
+import java.awt.Toolkit;
+import java.awt.Transparency;
+import java.awt.image.BufferStrategy;
+import java.awt.image.BufferedImage;
+
+/**
+ * Active rendering surface: a heavyweight canvas with a page-flipping
+ * {@link BufferStrategy}, drawn by its own thread at the display rate instead
+ * of whenever Swing gets round to {@code paintComponent}. The render thread
+ * only reads the engine's published snapshot, so simulation and drawing never
+ * wait on each other or on the EDT. Each frame is drawn at the game's own
+ * resolution into an offscreen image and scaled to the window in one blit.
+ * Per-frame render and present times and the bytes the render path
+ * allocated are recorded, and printed every ten seconds when
+ * {@code -Dbattlecity.stats=true} is set.
+ */
+public class GameCanvas extends Canvas {
+    private static final long serialVersionUID = 1L;
+    private static final int BUFFERS = 2;
+    private static final long REPORT_INTERVAL = 10_000_000_000L;
+    private static final boolean REPORT_STATS = Boolean.getBoolean("battlecity.stats");
+    private static final long STOP_TIMEOUT_MILLIS = 500;
+
+    /** Supplies the interpolation fraction for a frame presented at the given time. */
+    public interface InterpolationSource {
+        float interpolationAt(long nanoTime);
+    }
+
+    private final GameEngine gameEngine;
+    private final InterpolationSource interpolation;
+    private final int baseWidth;
+    private final int baseHeight;
+    private final long frameTime;
+    private final FramePacer framePacer = new FramePacer();
+
+    private Thread renderThread;
+    private volatile boolean running = false;
+
+    private BufferedImage frame;
+    private Graphics2D frameGraphics;
+
+    private LatencyHistogram renderTimes = new LatencyHistogram();
+    private LatencyHistogram presentTimes = new LatencyHistogram();
+    private long allocatedBytes;
+    private long maxAllocatedBytes;
+    private long allocationFrames;
+
+    public GameCanvas(GameEngine gameEngine, InterpolationSource interpolation, int baseWidth, int baseHeight,
+                      long frameTime) {
+        this.gameEngine = gameEngine;
+        this.interpolation = interpolation;
+        this.baseWidth = baseWidth;
+        this.baseHeight = baseHeight;
+        this.frameTime = frameTime;
+        setBackground(Color.BLACK);
+        setIgnoreRepaint(true);
+        setFocusable(false);
+    }
+
+    /**
+     * The buffer strategy only exists while the canvas is displayable, so the
+     * render thread follows the peer: it starts here and is stopped before the
+     * peer goes away, e.g. when the window is rebuilt for fullscreen.
+     */
+    @Override
+    public void addNotify() {
+        super.addNotify();
+        createStrategy();
+        running = true;
+        renderThread = new Thread(this::renderLoop, "Render");
+        renderThread.setDaemon(true);
+        renderThread.start();
+    }
+
+    @Override
+    public void removeNotify() {
+        stop();
+        super.removeNotify();
+    }
+
+    public void stop() {
+        running = false;
+        Thread thread = renderThread;
+        if (thread != null && thread != Thread.currentThread()) {
+            try {
+                thread.join(STOP_TIMEOUT_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        renderThread = null;
+    }
+
+    private void createStrategy() {
+        try {
+            createBufferStrategy(BUFFERS, new BufferCapabilities(new ImageCapabilities(true),
+                    new ImageCapabilities(true), BufferCapabilities.FlipContents.UNDEFINED));
+        } catch (AWTException e) {
+            // Page flipping is not available here; let AWT pick blitting instead.
+            createBufferStrategy(BUFFERS);
+        }
+    }
+
+    private void renderLoop() {
+        long nextFrame = System.nanoTime();
+        long nextReport = nextFrame + REPORT_INTERVAL;
+
+        while (running) {
+            renderFrame();
+
+            long now = System.nanoTime();
+            nextFrame += frameTime;
+            if (nextFrame < now) {
+                nextFrame = now + frameTime;
+            }
+            framePacer.waitUntil(nextFrame);
+
+            if (REPORT_STATS && now >= nextReport) {
+                report();
+                nextReport = now + REPORT_INTERVAL;
+            }
+        }
+    }
+
+    private void renderFrame() {
+        BufferStrategy strategy = getBufferStrategy();
+        if (strategy == null || getWidth() == 0 || getHeight() == 0) return;
+
+        if (frame == null) {
+            frame = ResourceManager.createCompatibleImage(baseWidth, baseHeight, Transparency.OPAQUE);
+            frameGraphics = frame.createGraphics();
+        }
+
+        long start = System.nanoTime();
+        long allocationStart = AllocationCounter.currentThreadAllocatedBytes();
+        gameEngine.render(frameGraphics, interpolation.interpolationAt(start));
+        long allocated = AllocationCounter.currentThreadAllocatedBytes() - allocationStart;
+        renderTimes.record(System.nanoTime() - start);
+
+        allocatedBytes += allocated;
+        maxAllocatedBytes = Math.max(maxAllocatedBytes, allocated);
+        allocationFrames++;
+
+        do {
+            do {
+                Graphics2D g = (Graphics2D) strategy.getDrawGraphics();
+                try {
+                    g.setRenderingHint(RenderingHints.KEY_INTERPOLATION,
+                                       RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR);
+                    g.drawImage(frame, 0, 0, getWidth(), getHeight(), null);
+                } finally {
+                    g.dispose();
+                }
+            } while (strategy.contentsRestored());
+
+            long presentStart = System.nanoTime();
+            strategy.show();
+            Toolkit.getDefaultToolkit().sync();
+            presentTimes.record(System.nanoTime() - presentStart);
+        } while (strategy.contentsLost());
+    }
+
+    private void report() {
+        System.out.printf("Render: avg %.2f ms, p99 %.2f ms, max %.2f ms; present: avg %.2f ms, p99 %.2f ms, "
+                          + "max %.2f ms; jitter avg %.3f ms, max %.3f ms over %d frames; "
+                          + "render alloc avg %.0f B, max %d B per frame%n",
+                          renderTimes.meanMicros() / 1000, renderTimes.percentileMicros(99) / 1000,
+                          renderTimes.maxMicros() / 1000,
+                          presentTimes.meanMicros() / 1000, presentTimes.percentileMicros(99) / 1000,
+                          presentTimes.maxMicros() / 1000,
+                          framePacer.getAverageJitterNanos() / 1e6, framePacer.getMaxJitterNanos() / 1e6,
+                          framePacer.getFrameCount(),
+                          allocationFrames == 0 ? 0.0 : (double) allocatedBytes / allocationFrames, maxAllocatedBytes);
+        renderTimes = new LatencyHistogram();
+        allocatedBytes = 0;
+        maxAllocatedBytes = 0;
+        allocationFrames = 0;
+        presentTimes = new LatencyHistogram();
+        framePacer.reset();
+    }
+}
@@ -0,0 +1,68 @@
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Simulation time, counted in ticks. Everything that used to read the wall
+ * clock asks this instead, so game time only moves when the owner calls
+ * {@link #advance()}. How often that happens is up to the driver: the game
+ * loop follows real time scaled by {@link #getTimeScale()}, honours
+ * {@link #isPaused()} and single steps, and a headless runner can simply
+ * advance as fast as it likes.
+ */
+public class GameClock {
+    public static final int TICKS_PER_SECOND = GameScheduler.TICKS_PER_SECOND;
+
+    private volatile long tick = 0;
+    private volatile boolean paused = false;
+    private volatile double timeScale = 1.0;
+    private final AtomicInteger pendingSteps = new AtomicInteger();
+
+    public void advance() {
+        tick++;
+    }
+
+    public long getTick() {
+        return tick;
+    }
+
+    /** Game time in milliseconds since the clock was created or reset. */
+    public long millis() {
+        return tick * 1000 / TICKS_PER_SECOND;
+    }
+
+    public void reset() {
+        tick = 0;
+        pendingSteps.set(0);
+    }
+
+    public boolean isPaused() {
+        return paused;
+    }
+
+    public void setPaused(boolean paused) {
+        this.paused = paused;
+    }
+
+    /** Lets the given number of ticks run while paused. */
+    public void step(int ticks) {
+        pendingSteps.addAndGet(Math.max(0, ticks));
+    }
+
+    /** Returns true, once per requested step, if a paused driver may run a tick. */
+    public boolean consumeStep() {
+        int steps;
+        do {
+            steps = pendingSteps.get();
+            if (steps == 0) return false;
+        } while (!pendingSteps.compareAndSet(steps, steps - 1));
+        return true;
+    }
+
+    public double getTimeScale() {
+        return timeScale;
+    }
+
+    /** Real-time drivers run this many game seconds per wall-clock second. */
+    public void setTimeScale(double timeScale) {
+        this.timeScale = Math.max(0, timeScale);
+    }
+}
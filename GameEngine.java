@@ -3,15 +3,21 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicReference;
 
 public class GameEngine {
     private ResourceManager resourceManager;
     private InputHandler inputHandler;
-    private static GameEngine instance;
 
     private Tank playerTank;
-    private static Level currentLevel;
+    private Level currentLevel;
     private CollisionManager collisionManager;
+    private final GameScheduler scheduler = new GameScheduler();
+    private final GameClock clock;
+    private final RandomStreams randomStreams;
+    private RandomStreams gameStreams;
+    private int gamesStarted = 0;
     private List<Tank> allTanks;
     
     private MenuManager menuManager; 
@@ -27,22 +33,52 @@ public class GameEngine {
     private int lastLifeScoreThreshold = 20000;
 
     private TankThreadManager threadManager;
+    private final EnemyAiExecutor enemyAi;
     private boolean useMultithreading = true;
 
     private Map<PowerUp.PowerUpType, Long> activePowerUps = new HashMap<>();
     private static final long SPEED_BOOST_DURATION = 10000; 
+    private static final int AI_BATCH_SIZE = Integer.getInteger("battlecity.aiBatchSize", EnemyAiExecutor.DEFAULT_BATCH_SIZE);
+    private static final boolean PARALLEL_COLLISIONS = Boolean.getBoolean("battlecity.parallelCollisions");
 
-    private enum GameState {
+    enum GameState {
     MENU, PLAYING, GAME_OVER, VICTORY, STAGE_TRANSITION,INITIAL_STAGE_TRANSITION
     }
     
-    private GameState currentState;
+    private volatile GameState currentState;
+    private WorldSnapshot backSnapshot;
+    private final AtomicReference<WorldSnapshot> sharedSnapshot = new AtomicReference<>();
+    private WorldSnapshot frontSnapshot;
+    private long snapshotSequence = 0;
+    private final TerrainLayers terrainLayers = new TerrainLayers();
+    private final HudLayer hud;
     private int score;
     
     public GameEngine(ResourceManager resourceManager, InputHandler inputHandler) {
-        instance = this;
+        this(resourceManager, inputHandler, new GameClock());
+    }
+    
+    public GameEngine(ResourceManager resourceManager, InputHandler inputHandler, GameClock clock) {
+        this(resourceManager, inputHandler, clock, true);
+    }
+    
+    public GameEngine(ResourceManager resourceManager, InputHandler inputHandler, GameClock clock,
+                      boolean useMultithreading) {
+        this(resourceManager, inputHandler, clock, useMultithreading, System.nanoTime());
+    }
+    
+    /**
+     * Everything random in the match is drawn from streams derived from
+     * {@code seed}, so the same seed and the same inputs replay the same game.
+     */
+    public GameEngine(ResourceManager resourceManager, InputHandler inputHandler, GameClock clock,
+                      boolean useMultithreading, long seed) {
+        this.clock = clock;
+        this.randomStreams = new RandomStreams(seed);
+        this.useMultithreading = useMultithreading;
         this.resourceManager = resourceManager;
         this.inputHandler = inputHandler;
+        this.enemyAi = new EnemyAiExecutor(useMultithreading ? ForkJoinPool.commonPool() : null, AI_BATCH_SIZE);
         
         currentState = GameState.MENU;
         score = 0;
@@ -51,11 +87,16 @@ public class GameEngine {
         resourceManager.loadLogoImage();
         menuManager = new MenuManager(resourceManager, GAME_WIDTH, GAME_HEIGHT);
 
-        initializeGame();
-    }
+        if (resourceManager.isHeadless()) {
+            hud = null;
+        } else {
+            hud = new HudLayer(GAME_WIDTH, GAME_HEIGHT);
+            backSnapshot = new WorldSnapshot(resourceManager.getAtlas());
+            sharedSnapshot.set(new WorldSnapshot(resourceManager.getAtlas()));
+            frontSnapshot = new WorldSnapshot(resourceManager.getAtlas());
+        }
 
-    public static GameEngine getInstance() {
-        return instance;
+        initializeGame();
     }
 
     public void addScore(int points) {
@@ -77,20 +118,20 @@ public class GameEngine {
     }
 
     private void initializeMultithreadedGame() {
-    ThreadSafeTank playerTankSafe = new ThreadSafeTank(Level.PLAYER_SPAWN_X, Level.PLAYER_SPAWN_Y, true, "player", resourceManager);
+    ThreadSafeTank playerTankSafe = new ThreadSafeTank(Level.PLAYER_SPAWN_X, Level.PLAYER_SPAWN_Y, true, "player", resourceManager, clock);
     playerTankSafe.setSpawnPosition(Level.PLAYER_SPAWN_X, Level.PLAYER_SPAWN_Y);
     playerTankSafe.setInvulnerable();
     
     playerTank = playerTankSafe; 
     
-    threadManager = new TankThreadManager();
-    threadManager.startPlayerThread(playerTankSafe, inputHandler, collisionManager);
+    threadManager = new TankThreadManager(TankThreadManager.Backend.selected());
+    threadManager.startPlayerThread(playerTankSafe, inputHandler);
     
     initializeCommonGame();
     }     
     
     private void initializeSingleThreadedGame() {
-    playerTank = new Tank(Level.PLAYER_SPAWN_X, Level.PLAYER_SPAWN_Y, true, "player", resourceManager);
+    playerTank = new Tank(Level.PLAYER_SPAWN_X, Level.PLAYER_SPAWN_Y, true, "player", resourceManager, clock);
     playerTank.setSpawnPosition(Level.PLAYER_SPAWN_X, Level.PLAYER_SPAWN_Y);
     playerTank.setInvulnerable();
     
@@ -98,29 +139,57 @@ public class GameEngine {
     }
 
     private void initializeCommonGame() {
-    currentLevel = new Level(resourceManager);
+    gameStreams = randomStreams.child(gamesStarted++);
+    currentLevel = new Level(resourceManager, clock, gameStreams.child(1));
+    currentLevel.setEnemyAi(enemyAi);
     
+    scheduler.clear();
     collisionManager = new CollisionManager();
     collisionManager.setResourceManager(resourceManager);
+    collisionManager.setScheduler(scheduler);
+    collisionManager.setClock(clock);
+    collisionManager.setGameEngine(this);
+    if (PARALLEL_COLLISIONS) {
+        collisionManager.setCollisionPool(ForkJoinPool.commonPool());
+    }
     
     allTanks = new ArrayList<>();
     allTanks.add(playerTank);
     allTanks.addAll(currentLevel.getEnemies());
     
-    collisionManager.setWalls(currentLevel.getWalls());
+    collisionManager.setTileMap(currentLevel.getTileMap());
     collisionManager.setTanks(allTanks);
     collisionManager.setPowerUps(currentLevel.getPowerUps());
     collisionManager.setPlayerTank(playerTank);
     collisionManager.setEagle(currentLevel.getEagle());
 
     gameOverManager = new GameOverManager(resourceManager, GAME_WIDTH, GAME_HEIGHT);
+    publishSnapshot();
     }
 
-    public static Level getCurrentLevel() {
+    public GameClock getClock() {
+        return clock;
+    }
+    
+    public GameScheduler getScheduler() {
+        return scheduler;
+    }
+
+    public Level getCurrentLevel() {
         return currentLevel;
     }
+
+    public CollisionManager getCollisionManager() {
+        return collisionManager;
+    }
+
+    public EnemyAiExecutor getEnemyAi() {
+        return enemyAi;
+    }
     
     public void update() {
+    clock.advance();
+    
     switch (currentState) {
         case MENU:
             updateMenu();
@@ -139,6 +208,8 @@ public class GameEngine {
                 updateInitialStageTransition();
                 break;
     }
+    
+    publishSnapshot();
 }
     
     private void updateMenu() {
@@ -147,12 +218,12 @@ public class GameEngine {
         if (inputHandler.isStartPressed()) {
             currentStage = 1; 
             currentState = GameState.INITIAL_STAGE_TRANSITION;
-            stageTransitionStartTime = System.currentTimeMillis();
+            stageTransitionStartTime = clock.millis();
         }
     }
 
     private void updateStageTransition() {
-        long currentTime = System.currentTimeMillis();
+        long currentTime = clock.millis();
         
         if (currentTime - stageTransitionStartTime > STAGE_TRANSITION_DURATION) {
             initializeNextStage();
@@ -161,7 +232,7 @@ public class GameEngine {
     }
 
     private void updateInitialStageTransition() {
-        long currentTime = System.currentTimeMillis();
+        long currentTime = clock.millis();
         
         if (currentTime - stageTransitionStartTime > STAGE_TRANSITION_DURATION) {
             currentState = GameState.PLAYING;
@@ -173,11 +244,13 @@ public class GameEngine {
         
         currentStage++;
         
-        currentLevel = new Level(resourceManager, currentStage);
+        currentLevel = new Level(resourceManager, currentStage, clock, gameStreams.child(currentStage));
+        currentLevel.setEnemyAi(enemyAi);
+        scheduler.clear();
         
         currentLevel.setPlayerHealth(playerHealth);
         
-        playerTank = new Tank(Level.PLAYER_SPAWN_X, Level.PLAYER_SPAWN_Y, true, "player", resourceManager);
+        playerTank = new Tank(Level.PLAYER_SPAWN_X, Level.PLAYER_SPAWN_Y, true, "player", resourceManager, clock);
         playerTank.setSpawnPosition(Level.PLAYER_SPAWN_X, Level.PLAYER_SPAWN_Y);
         playerTank.setHealth(playerHealth);
         playerTank.setInvulnerable();
@@ -186,7 +259,7 @@ public class GameEngine {
         allTanks.add(playerTank);
         allTanks.addAll(currentLevel.getEnemies());
         
-        collisionManager.setWalls(currentLevel.getWalls());
+        collisionManager.setTileMap(currentLevel.getTileMap());
         collisionManager.setTanks(allTanks);
         collisionManager.setPowerUps(currentLevel.getPowerUps());
         collisionManager.setPlayerTank(playerTank);
@@ -201,10 +274,16 @@ public class GameEngine {
             return;
         }
         
+        scheduler.tick();
+        
         handlePlayerInput();
         
         currentLevel.update();
         
+        if (threadManager != null) {
+            threadManager.tickEnemies();
+        }
+        
         updateTanksList();
         
         collisionManager.update();
@@ -216,15 +295,69 @@ public class GameEngine {
         checkGameState();
     }
     
+    /**
+     * Captures the finished tick for the render thread into the engine's own
+     * snapshot, then swaps it with the shared one. The swap hands back the
+     * snapshot the renderer last gave up, which the next tick refills.
+     */
+    private void publishSnapshot() {
+        if (resourceManager.isHeadless()) return;
+        
+        WorldSnapshot next = backSnapshot;
+        long currentTime = clock.millis();
+        
+        next.clear();
+        next.setState(currentState);
+        currentLevel.capture(next, currentTime);
+        
+        if (playerTank.isActive()) {
+            playerTank.capture(next, currentTime);
+        }
+        
+        for (Tank enemy : currentLevel.getEnemies()) {
+            if (enemy.isActive()) {
+                enemy.capture(next, currentTime);
+            }
+        }
+        
+        collisionManager.capture(next);
+        
+        next.setHud(playerTank.isActive(), playerTank.getHealth(), currentLevel.getRemainingEnemies(),
+                    score, currentStage);
+        next.setMenuSelection(menuManager.getSelectedIndex());
+        gameOverManager.capture(next);
+        next.setSequence(++snapshotSequence);
+        backSnapshot = sharedSnapshot.getAndSet(next);
+    }
+    
+    /**
+     * Render-thread side of the exchange: takes the shared snapshot if it is
+     * newer than the one already held, leaving the old one for the engine.
+     */
+    private WorldSnapshot acquireSnapshot() {
+        if (sharedSnapshot.get().getSequence() > frontSnapshot.getSequence()) {
+            frontSnapshot = sharedSnapshot.getAndSet(frontSnapshot);
+        }
+        return frontSnapshot;
+    }
+    
     private void startStageTransition() {
         currentState = GameState.STAGE_TRANSITION;
-        stageTransitionStartTime = System.currentTimeMillis();
+        stageTransitionStartTime = clock.millis();
     }
     
+    /**
+     * Player shots are spawned here, on the game thread, from the fire edge
+     * the input ring delivered this tick: the bullet store is only ever
+     * touched by the tick.
+     */
     private void handlePlayerInput() {
         if (!playerTank.isActive()) return;
         
         if (useMultithreading) {
+        if (inputHandler.isFireJustPressed()) {
+            collisionManager.fire(playerTank);
+        }
         playerTank.update();
         return;
         }
@@ -244,10 +377,7 @@ public class GameEngine {
         }
         
         if (inputHandler.isFireJustPressed()) {
-            Bullet bullet = playerTank.shoot();
-            if (bullet != null) {
-                collisionManager.addBullet(bullet);
-            }
+            collisionManager.fire(playerTank);
         }
         
         playerTank.update();
@@ -262,8 +392,8 @@ public class GameEngine {
     
     private void handleEnemyActions() {
         for (Tank enemy : currentLevel.getEnemies()) {
-            if (enemy.isActive() && Math.random() < 0.01) { 
-                collisionManager.addBullet(enemy.shoot());
+            if (enemy.isActive() && enemy.getRandom().nextDouble() < 0.01) { 
+                collisionManager.fire(enemy);
             }
         }
     }
@@ -271,7 +401,7 @@ public class GameEngine {
     public void activatePowerUp(PowerUp.PowerUpType type) {
         switch (type) {
             case STAR:
-                activePowerUps.put(type, System.currentTimeMillis() + SPEED_BOOST_DURATION);
+                activePowerUps.put(type, clock.millis() + SPEED_BOOST_DURATION);
                 break;
             default:
                 break;
@@ -279,7 +409,7 @@ public class GameEngine {
     }
 
     private void checkActivePowerUps() {
-        long currentTime = System.currentTimeMillis();
+        long currentTime = clock.millis();
         
         if (activePowerUps.containsKey(PowerUp.PowerUpType.STAR) && 
             currentTime > activePowerUps.get(PowerUp.PowerUpType.STAR)) {
@@ -315,21 +445,35 @@ public class GameEngine {
 }
     
     public void render(Graphics2D g) {
-        switch (currentState) {
+        render(g, 1.0f);
+    }
+    
+    /**
+     * Draws the latest published tick. {@code interpolation} is how far the
+     * display is past that tick, as a fraction of a tick. Everything drawn
+     * comes from the snapshot, never from live game state.
+     */
+    public void render(Graphics2D g, float interpolation) {
+        if (hud == null) return;
+        
+        WorldSnapshot frame = acquireSnapshot();
+        if (frame.getState() == null) return;
+        
+        switch (frame.getState()) {
             case MENU:
-                renderMenu(g);
+                renderMenu(g, frame);
                 break;
             case PLAYING:
-                renderGame(g);
+                renderGame(g, frame, interpolation);
                 break;
             case GAME_OVER:
-                renderGameOver(g);
+                renderGameOver(g, frame);
                 break;
             case VICTORY:
-                renderVictory(g);
+                renderVictory(g, frame);
                 break;
             case STAGE_TRANSITION:
-                renderStageTransition(g);
+                renderStageTransition(g, frame);
             break;
             case INITIAL_STAGE_TRANSITION:
                 renderInitialStageTransition(g);
@@ -338,99 +482,51 @@ public class GameEngine {
     }
 
     private void renderInitialStageTransition(Graphics2D g) {
-        g.setColor(new Color(128, 128, 128)); 
-        g.fillRect(0, 0, GAME_WIDTH, GAME_HEIGHT);
-        
-        g.setColor(Color.BLACK);
-        g.setFont(new Font("Press Start 2P", Font.BOLD, 40));
-        String stageText = "STAGE  1"; 
-        int textWidth = g.getFontMetrics().stringWidth(stageText);
-        g.drawString(stageText, GAME_WIDTH/2 - textWidth/2, GAME_HEIGHT/2);
+        hud.renderStageTitle(g, 1);
     }    
 
-    private void renderStageTransition(Graphics2D g) {
-    
-        g.setColor(new Color(128, 128, 128)); 
-        g.fillRect(0, 0, GAME_WIDTH, GAME_HEIGHT);
-        
-       
-         g.setColor(Color.BLACK);
-        g.setFont(new Font("Press Start 2P", Font.BOLD, 40));
-        String stageText = "STAGE  " + (currentStage +1); 
-        int textWidth = g.getFontMetrics().stringWidth(stageText);
-        g.drawString(stageText, GAME_WIDTH/2 - textWidth/2, GAME_HEIGHT/2);
+    private void renderStageTransition(Graphics2D g, WorldSnapshot frame) {
+        hud.renderStageTitle(g, frame.getStage() + 1);
     }
     
-    private void renderMenu(Graphics2D g) {
+    private void renderMenu(Graphics2D g, WorldSnapshot frame) {
         g.setColor(Color.BLACK);
         g.fillRect(0, 0, GAME_WIDTH, GAME_HEIGHT);
         
-        menuManager.render(g);
+        menuManager.render(g, frame.getMenuSelection());
     }
     
-    private void renderGame(Graphics2D g) {
+    private void renderGame(Graphics2D g, WorldSnapshot frame, float interpolation) {
         g.setColor(Color.BLACK);
         g.fillRect(0, 0, GAME_WIDTH, GAME_HEIGHT);
         
-        currentLevel.render(g);
+        frame.render(g, interpolation, terrainLayers);
         
-        if (playerTank.isActive()) {
-            playerTank.render(g);
-        }
-    
-        for (Tank enemy : currentLevel.getEnemies()) {
-            if (enemy.isActive()) {
-                enemy.render(g);
-            }
-        }
-        
-        collisionManager.render(g);
-        
-        renderUI(g);
+        renderUI(g, frame);
     }
     
-    private void renderGameOver(Graphics2D g) {
-        renderGame(g);
+    private void renderGameOver(Graphics2D g, WorldSnapshot frame) {
+        renderGame(g, frame, 1.0f);
     
-        g.setColor(new Color(0, 0, 0, 180));
-        g.fillRect(0, 0, GAME_WIDTH, GAME_HEIGHT);
+        hud.renderOverlay(g);
         
-        gameOverManager.render(g);
+        gameOverManager.render(g, frame);
         
-        if (!gameOverManager.isAnimationActive()) {
-            g.setColor(Color.WHITE);
-            g.setFont(new Font("Arial", Font.PLAIN, 20));
-            g.drawString("Press R to Restart", GAME_WIDTH/2 - 80, GAME_HEIGHT/2 + 50);
+        if (!frame.isGameOverActive()) {
+            hud.renderRestartHint(g);
         }
     }
     
-    private void renderVictory(Graphics2D g) {
-        renderGame(g);
-        
-        g.setColor(new Color(0, 0, 0, 180));
-        g.fillRect(0, 0, GAME_WIDTH, GAME_HEIGHT);
+    private void renderVictory(Graphics2D g, WorldSnapshot frame) {
+        renderGame(g, frame, 1.0f);
         
-        g.setColor(Color.GREEN);
-        g.setFont(new Font("Arial", Font.BOLD, 40));
-        g.drawString("VICTORY!", GAME_WIDTH/2 - 80, GAME_HEIGHT/2 - 50);
+        hud.renderOverlay(g);
         
-        g.setColor(Color.YELLOW);
-        g.setFont(new Font("Arial", Font.PLAIN, 20));
-        g.drawString("Score: " + score, GAME_WIDTH/2 - 40, GAME_HEIGHT/2);
-        g.drawString("Press R to Play Again", GAME_WIDTH/2 - 100, GAME_HEIGHT/2 + 40);
+        hud.renderVictory(g, frame.getScore());
     }
     
-    private void renderUI(Graphics2D g) {
-        g.setColor(Color.WHITE);
-        g.setFont(new Font("Arial", Font.PLAIN, 12));
-        g.drawString("Battle City - Tank 1990", 10, 20);
-        
-        if (playerTank.isActive()) {
-           g.drawString("Lives: " + playerTank.getHealth(), 10, 40);
-        g.drawString("Enemies: " + currentLevel.getRemainingEnemies() + "/" + Level.MAX_ENEMIES_PER_STAGE, 10, 60);
-        g.drawString("Score: " + score, 10, 80);
-        g.drawString("Stage: " + currentStage, 10, 100); 
-        }
+    private void renderUI(Graphics2D g, WorldSnapshot frame) {
+        hud.renderStatus(g, frame);
     }
     
     public void resetGame() {
@@ -453,6 +549,22 @@ public class GameEngine {
         currentState = GameState.PLAYING;
     }
     
+    public boolean isMatchOver() {
+        return currentState == GameState.GAME_OVER || currentState == GameState.VICTORY;
+    }
+    
+    public int getScore() {
+        return score;
+    }
+    
+    public int getCurrentStage() {
+        return currentStage;
+    }
+    
+    public long getSeed() {
+        return randomStreams.getSeed();
+    }
+    
     public boolean isInMenuState() {
         return currentState == GameState.MENU;
     }
@@ -461,16 +573,7 @@ public class GameEngine {
         if (currentState == GameState.MENU) {
             currentStage = 1;
             currentState = GameState.INITIAL_STAGE_TRANSITION;
-            stageTransitionStartTime = System.currentTimeMillis();
-        }
-    }
-    
-    public void forcePlayerShoot() {
-        if (currentState == GameState.PLAYING && playerTank != null && playerTank.isActive()) {
-            Bullet bullet = playerTank.shoot();
-            if (bullet != null) {
-                collisionManager.addBullet(bullet);
-            }
+            stageTransitionStartTime = clock.millis();
         }
     }
     
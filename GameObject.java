@@ -21,7 +21,6 @@ public abstract class GameObject {
     }
     
     public abstract void update();
-    public abstract void render(Graphics2D g);
     
     public void updateBounds() {
         bounds.x = (int)x;
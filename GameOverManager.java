@@ -15,6 +15,7 @@ public class GameOverManager {
     private long scoreDisplayTime;
     private boolean showScore = false;
     private int score;
+    private TextLabel scoreLabel;
     
     private static final long ANIMATION_DELAY = 500; 
     private static final long SCORE_DELAY = 800; 
@@ -64,20 +65,29 @@ public class GameOverManager {
         }
     }
     
-    public void render(Graphics2D g) {
-        if (!animationActive) return;
+    public void capture(WorldSnapshot snapshot) {
+        snapshot.setGameOver(animationActive, gameOverY, showScore, score);
+    }
+    
+    /**
+     * Draws the animation as captured in {@code frame}; the fields above
+     * belong to the game thread.
+     */
+    public void render(Graphics2D g, WorldSnapshot frame) {
+        if (!frame.isGameOverActive()) return;
         
         int imageWidth = gameOverImage.getWidth();
         int centerX = screenWidth / 2 - imageWidth / 2;
+        int y = (int)frame.getGameOverY();
         
-        g.drawImage(gameOverImage, centerX, (int)gameOverY, null);
+        g.drawImage(gameOverImage, centerX, y, null);
 
-        if (showScore) {
-            g.setColor(Color.WHITE);
-            g.setFont(new Font("Arial", Font.BOLD, 24));
-            String scoreText = "SCORE: " + score;
-            int scoreWidth = g.getFontMetrics().stringWidth(scoreText);
-            g.drawString(scoreText, screenWidth / 2 - scoreWidth / 2, (int)gameOverY + 60);
+        if (frame.isGameOverScoreShown()) {
+            if (scoreLabel == null) {
+                scoreLabel = new TextLabel(new Font("Arial", Font.BOLD, 24), Color.WHITE, "SCORE: ", null);
+            }
+            scoreLabel.setValue(frame.getGameOverScore());
+            scoreLabel.drawCentered(g, screenWidth / 2, y + 60);
         }
     }
     
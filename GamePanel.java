@@ -7,10 +7,18 @@ public class GamePanel extends JPanel implements KeyListener, Runnable {
     private static final int BASE_WIDTH = Level.getGridWidth() * Level.CELL_SIZE;  
     private static final int BASE_HEIGHT = Level.getGridHeight() * Level.CELL_SIZE; 
     private static final int FPS = 60;
-    private static final int TARGET_TIME = 1000000000 / FPS;
+    private static final long TICK_TIME = 1_000_000_000L / GameScheduler.TICKS_PER_SECOND;
+    private static final int MAX_TICKS_PER_FRAME = 5;
+    private static final long JITTER_REPORT_INTERVAL = 10_000_000_000L;
+    private static final boolean ACTIVE_RENDERING = !Boolean.getBoolean("battlecity.passiveRendering");
+    private static final boolean REPORT_STATS = Boolean.getBoolean("battlecity.stats");
     
     private Thread gameThread;
-    private boolean running = false;
+    private volatile boolean running = false;
+    private final FramePacer framePacer = new FramePacer();
+    private volatile float interpolation = 1.0f;
+    private volatile long interpolationTime = System.nanoTime();
+    private GameCanvas canvas;
     
     private GameEngine gameEngine;
     private ResourceManager resourceManager;
@@ -22,10 +30,6 @@ public class GamePanel extends JPanel implements KeyListener, Runnable {
     private double scaleX = 1.0;
     private double scaleY = 1.0;
     
-    private boolean spaceKeyProcessed = false;
-    private long lastSpaceKeyTime = 0;
-    private static final long SPACE_KEY_COOLDOWN = 250; 
-    
     public GamePanel() {
         initializePanel();
         initializeComponents();
@@ -45,6 +49,13 @@ public class GamePanel extends JPanel implements KeyListener, Runnable {
         resourceManager = new ResourceManager();
         inputHandler = new InputHandler();
         gameEngine = new GameEngine(resourceManager, inputHandler);
+        
+        if (ACTIVE_RENDERING) {
+            canvas = new GameCanvas(gameEngine, this::interpolationAt, BASE_WIDTH, BASE_HEIGHT,
+                                    1_000_000_000L / getDisplayRefreshRate());
+            setLayout(new BorderLayout());
+            add(canvas, BorderLayout.CENTER);
+        }
     }
     
     private void startGameLoop() {
@@ -53,50 +64,118 @@ public class GamePanel extends JPanel implements KeyListener, Runnable {
         gameThread.start();
     }
     
+    /**
+     * Fixed-step loop: the simulation always advances in TICK_TIME steps, as
+     * many as the elapsed time calls for (capped so a long stall does not
+     * spiral), while frames are paced to the display rate and drawn with the
+     * leftover fraction of a tick as interpolation. The game clock's time
+     * scale speeds the simulation up or down; while it is paused only
+     * requested single steps run. With active rendering this thread only
+     * simulates, paced to the tick rate, and the canvas draws on its own.
+     * With {@code -Dbattlecity.stats=true} the pacing jitter is printed
+     * every ten seconds.
+     */
     @Override
     public void run() {
-        long startTime;
-        long elapsedTime;
-        long waitTime;
-        
         requestFocus();
         
+        long frameTime = canvas != null ? TICK_TIME : 1_000_000_000L / getDisplayRefreshRate();
+        long previousTime = System.nanoTime();
+        long nextFrame = previousTime;
+        long nextReport = previousTime + JITTER_REPORT_INTERVAL;
+        long accumulator = 0;
+        GameClock clock = gameEngine.getClock();
+        
         while (running) {
-            startTime = System.nanoTime();
+            long now = System.nanoTime();
+            double timeScale = clock.getTimeScale();
+            int maxTicks = MAX_TICKS_PER_FRAME * (int) Math.max(1, Math.ceil(timeScale));
             
-            update();
-            repaint();
+            if (clock.isPaused()) {
+                accumulator = 0;
+                if (clock.consumeStep()) {
+                    update();
+                }
+            } else {
+                accumulator += (long) ((now - previousTime) * timeScale);
+            }
+            previousTime = now;
             
-            elapsedTime = System.nanoTime() - startTime;
-            waitTime = TARGET_TIME - elapsedTime;
+            int ticks = 0;
+            while (accumulator >= TICK_TIME && ticks < maxTicks) {
+                update();
+                accumulator -= TICK_TIME;
+                ticks++;
+            }
+            if (accumulator >= TICK_TIME) {
+                accumulator %= TICK_TIME;
+            }
             
-            if (waitTime > 0) {
-                try {
-                    Thread.sleep(waitTime / 1000000);
-                } catch (InterruptedException e) {
-                    e.printStackTrace();
-                }
+            interpolation = clock.isPaused() ? 1.0f : (float) accumulator / TICK_TIME;
+            interpolationTime = now;
+            if (canvas == null) {
+                repaint();
+            }
+            
+            nextFrame += frameTime;
+            if (nextFrame < now) {
+                nextFrame = now + frameTime;
+            }
+            framePacer.waitUntil(nextFrame);
+            
+            if (REPORT_STATS && now >= nextReport) {
+                System.out.printf("%s jitter: avg %.3f ms, max %.3f ms over %d frames%n",
+                                  canvas != null ? "Tick" : "Frame",
+                                  framePacer.getAverageJitterNanos() / 1e6,
+                                  framePacer.getMaxJitterNanos() / 1e6,
+                                  framePacer.getFrameCount());
+                framePacer.reset();
+                nextReport = now + JITTER_REPORT_INTERVAL;
             }
         }
     }
     
+    private static int getDisplayRefreshRate() {
+        try {
+            int rate = GraphicsEnvironment.getLocalGraphicsEnvironment()
+                    .getDefaultScreenDevice().getDisplayMode().getRefreshRate();
+            return rate > 0 ? rate : FPS;
+        } catch (HeadlessException e) {
+            return FPS;
+        }
+    }
+    
+    /**
+     * Interpolation for a frame drawn at {@code nanoTime}: the fraction the
+     * simulation loop left over, advanced by the time since it computed it.
+     */
+    private float interpolationAt(long nanoTime) {
+        GameClock clock = gameEngine.getClock();
+        if (clock.isPaused()) return 1.0f;
+        
+        float elapsed = (float) ((nanoTime - interpolationTime) * clock.getTimeScale() / TICK_TIME);
+        return Math.max(0f, Math.min(1.0f, interpolation + elapsed));
+    }
+    
+    public FramePacer getFramePacer() {
+        return framePacer;
+    }
+    
     private void update() {
+        inputHandler.update();
+        
         if (inputHandler.isRestartPressed()) {
             gameEngine.resetGame();
         }
-
-        long currentTime = System.currentTimeMillis();
-        if (spaceKeyProcessed && currentTime - lastSpaceKeyTime > SPACE_KEY_COOLDOWN) {
-            spaceKeyProcessed = false;
-        }
         
-        inputHandler.update();
         gameEngine.update();
     }
     
     @Override
     protected void paintComponent(Graphics g) {
         super.paintComponent(g);
+        if (canvas != null) return;
+        
         Graphics2D g2d = (Graphics2D) g;
         
         g2d.scale(scaleX, scaleY);
@@ -104,30 +183,17 @@ public class GamePanel extends JPanel implements KeyListener, Runnable {
         g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, 
                            RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR);
         
-        gameEngine.render(g2d);
+        gameEngine.render(g2d, interpolation);
     }
     
-@Override
-public void keyPressed(KeyEvent e) {
-    inputHandler.keyPressed(e.getKeyCode());
-    
-    if (e.getKeyCode() == KeyEvent.VK_SPACE) {
-        long currentTime = System.currentTimeMillis();
-        if (!spaceKeyProcessed && currentTime - lastSpaceKeyTime > SPACE_KEY_COOLDOWN) {
-            gameEngine.forcePlayerShoot();
-            spaceKeyProcessed = true;
-            lastSpaceKeyTime = currentTime;
-        }
+    @Override
+    public void keyPressed(KeyEvent e) {
+        inputHandler.keyPressed(e.getKeyCode());
     }
-}
     
     @Override
     public void keyReleased(KeyEvent e) {
         inputHandler.keyReleased(e.getKeyCode());
-        
-        if (e.getKeyCode() == KeyEvent.VK_SPACE) {
-            spaceKeyProcessed = false;
-        }
     }
     
     @Override
@@ -136,6 +202,9 @@ public void keyPressed(KeyEvent e) {
     
     public void stopGame() {
         running = false;
+        if (canvas != null) {
+            canvas.stop();
+        }
     }
     
     public void forceTryStartGame() {
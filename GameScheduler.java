@@ -0,0 +1,101 @@
+/**
+ * Hashed timer wheel driven by simulation ticks. Scheduling is O(1), each
+ * tick only visits one wheel slot, and every task runs on the thread that
+ * calls {@link #tick()}. Nothing advances while the owner stops ticking, so
+ * timed effects pause with the game.
+ */
+public class GameScheduler {
+    public static final int TICKS_PER_SECOND = 60;
+    private static final int WHEEL_SIZE = 512;
+    private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+
+    private static class Timeout {
+        Runnable task;
+        long deadline;
+        Timeout next;
+    }
+
+    private final Timeout[] wheel = new Timeout[WHEEL_SIZE];
+    private Timeout freeList;
+    private long currentTick = 0;
+    private int pending = 0;
+
+    public void schedule(long delayMillis, Runnable task) {
+        scheduleTicks(toTicks(delayMillis), task);
+    }
+
+    public void scheduleTicks(long delayTicks, Runnable task) {
+        Timeout timeout = obtain();
+        timeout.task = task;
+        timeout.deadline = currentTick + Math.max(1, delayTicks);
+
+        int slot = (int)(timeout.deadline & WHEEL_MASK);
+        timeout.next = wheel[slot];
+        wheel[slot] = timeout;
+        pending++;
+    }
+
+    public void tick() {
+        currentTick++;
+
+        int slot = (int)(currentTick & WHEEL_MASK);
+        Timeout timeout = wheel[slot];
+        wheel[slot] = null;
+
+        while (timeout != null) {
+            Timeout next = timeout.next;
+
+            if (timeout.deadline <= currentTick) {
+                Runnable task = timeout.task;
+                pending--;
+                release(timeout);
+                task.run();
+            } else {
+                timeout.next = wheel[slot];
+                wheel[slot] = timeout;
+            }
+            timeout = next;
+        }
+    }
+
+    public void clear() {
+        for (int i = 0; i < WHEEL_SIZE; i++) {
+            Timeout timeout = wheel[i];
+            while (timeout != null) {
+                Timeout next = timeout.next;
+                release(timeout);
+                timeout = next;
+            }
+            wheel[i] = null;
+        }
+        pending = 0;
+    }
+
+    public long getCurrentTick() {
+        return currentTick;
+    }
+
+    public int getPendingCount() {
+        return pending;
+    }
+
+    public static long toTicks(long millis) {
+        return (millis * TICKS_PER_SECOND + 999) / 1000;
+    }
+
+    private Timeout obtain() {
+        Timeout timeout = freeList;
+        if (timeout == null) {
+            return new Timeout();
+        }
+        freeList = timeout.next;
+        timeout.next = null;
+        return timeout;
+    }
+
+    private void release(Timeout timeout) {
+        timeout.task = null;
+        timeout.next = freeList;
+        freeList = timeout;
+    }
+}
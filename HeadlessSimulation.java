@@ -0,0 +1,50 @@
+/**
+ * Runs the full game rules without a window, images or rendering, as fast as
+ * one core allows, with a simple scripted bot at the controls. Finished
+ * games are restarted until the tick budget is used up, then throughput and
+ * per-tick collision and enemy AI statistics are reported.
+ *
+ * Usage: java HeadlessSimulation [ticks] [seed]
+ */
+public class HeadlessSimulation {
+    public static void main(String[] args) {
+        System.setProperty("java.awt.headless", "true");
+
+        long totalTicks = args.length > 0 ? Long.parseLong(args[0]) : 200_000;
+        long seed = args.length > 1 ? Long.parseLong(args[1]) : 1;
+
+        SimulatedMatch match = new SimulatedMatch(seed);
+        long candidatePairs = 0;
+        int maxCandidatePairs = 0;
+        long enemyAiNanos = 0;
+        long maxEnemyAiNanos = 0;
+        long start = System.nanoTime();
+
+        for (long tick = 0; tick < totalTicks; tick++) {
+            match.step();
+
+            int pairs = match.getEngine().getCollisionManager().getTankCandidatePairCount();
+            candidatePairs += pairs;
+            maxCandidatePairs = Math.max(maxCandidatePairs, pairs);
+
+            EnemyAiExecutor enemyAi = match.getEngine().getEnemyAi();
+            enemyAiNanos += enemyAi.getLastTickNanos();
+            maxEnemyAiNanos = Math.max(maxEnemyAiNanos, enemyAi.getLastTickNanos());
+            enemyAi.resetStats();
+        }
+
+        long elapsed = System.nanoTime() - start;
+        double seconds = elapsed / 1e9;
+
+        System.out.printf("Ticks: %d (%.1f game minutes) in %.2f s%n",
+                          totalTicks, match.getClock().millis() / 60000.0, seconds);
+        System.out.printf("Throughput: %.0f ticks/s, %.1fx real time%n",
+                          totalTicks / seconds, totalTicks / seconds / GameClock.TICKS_PER_SECOND);
+        System.out.printf("Games: %d, best score: %d, stage reached: %d%n",
+                          match.getGamesPlayed(), match.getBestScore(), match.getEngine().getCurrentStage());
+        System.out.printf("Tank broad phase: %.2f candidate pairs per tick, max %d%n",
+                          (double) candidatePairs / totalTicks, maxCandidatePairs);
+        System.out.printf("Enemy AI: %.2f us per tick, max %.2f us%n",
+                          enemyAiNanos / 1e3 / totalTicks, maxEnemyAiNanos / 1e3);
+    }
+}
@@ -0,0 +1,87 @@
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+
+/**
+ * All of the engine's on-screen text as cached {@link TextLabel}s, with the
+ * fonts and colours created once, plus the dimming overlay as an image since
+ * translucent fills are far more expensive than a blit. Only the render
+ * thread touches it.
+ */
+public class HudLayer {
+    private static final Font HUD_FONT = new Font("Arial", Font.PLAIN, 12);
+    private static final Font STAGE_FONT = new Font("Press Start 2P", Font.BOLD, 40);
+    private static final Font MESSAGE_FONT = new Font("Arial", Font.PLAIN, 20);
+    private static final Font VICTORY_FONT = new Font("Arial", Font.BOLD, 40);
+    private static final Color TRANSITION_GRAY = new Color(128, 128, 128);
+    private static final Color OVERLAY = new Color(0, 0, 0, 180);
+
+    private final int width;
+    private final int height;
+    private final BufferedImage overlay;
+
+    private final TextLabel title = new TextLabel(HUD_FONT, Color.WHITE, "Battle City - Tank 1990");
+    private final TextLabel lives = new TextLabel(HUD_FONT, Color.WHITE, "Lives: ", null);
+    private final TextLabel enemies = new TextLabel(HUD_FONT, Color.WHITE, "Enemies: ",
+                                                    "/" + Level.MAX_ENEMIES_PER_STAGE);
+    private final TextLabel score = new TextLabel(HUD_FONT, Color.WHITE, "Score: ", null);
+    private final TextLabel stage = new TextLabel(HUD_FONT, Color.WHITE, "Stage: ", null);
+    private final TextLabel stageTitle = new TextLabel(STAGE_FONT, Color.BLACK, "STAGE  ", null);
+    private final TextLabel restart = new TextLabel(MESSAGE_FONT, Color.WHITE, "Press R to Restart");
+    private final TextLabel victory = new TextLabel(VICTORY_FONT, Color.GREEN, "VICTORY!");
+    private final TextLabel victoryScore = new TextLabel(MESSAGE_FONT, Color.YELLOW, "Score: ", null);
+    private final TextLabel playAgain = new TextLabel(MESSAGE_FONT, Color.YELLOW, "Press R to Play Again");
+
+    public HudLayer(int width, int height) {
+        this.width = width;
+        this.height = height;
+
+        overlay = ResourceManager.createCompatibleImage(width, height, Transparency.TRANSLUCENT);
+        Graphics2D g = overlay.createGraphics();
+        g.setColor(OVERLAY);
+        g.fillRect(0, 0, width, height);
+        g.dispose();
+    }
+
+    public void renderOverlay(Graphics2D g) {
+        g.drawImage(overlay, 0, 0, null);
+    }
+
+    public void renderStatus(Graphics2D g, WorldSnapshot frame) {
+        title.draw(g, 10, 20);
+
+        if (frame.isPlayerActive()) {
+            lives.setValue(frame.getPlayerHealth());
+            enemies.setValue(frame.getRemainingEnemies());
+            score.setValue(frame.getScore());
+            stage.setValue(frame.getStage());
+
+            lives.draw(g, 10, 40);
+            enemies.draw(g, 10, 60);
+            score.draw(g, 10, 80);
+            stage.draw(g, 10, 100);
+        }
+    }
+
+    public void renderStageTitle(Graphics2D g, int stageNumber) {
+        g.setColor(TRANSITION_GRAY);
+        g.fillRect(0, 0, width, height);
+
+        stageTitle.setValue(stageNumber);
+        stageTitle.drawCentered(g, width / 2, height / 2);
+    }
+
+    public void renderRestartHint(Graphics2D g) {
+        restart.draw(g, width / 2 - 80, height / 2 + 50);
+    }
+
+    public void renderVictory(Graphics2D g, int finalScore) {
+        victory.draw(g, width / 2 - 80, height / 2 - 50);
+
+        victoryScore.setValue(finalScore);
+        victoryScore.draw(g, width / 2 - 40, height / 2);
+        playAgain.draw(g, width / 2 - 100, height / 2 + 40);
+    }
+}
@@ -1,90 +1,224 @@
 import java.awt.event.KeyEvent;
-import java.util.HashSet;
-import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
 
+/**
+ * Keyboard state for the game thread. The AWT thread only appends raw key
+ * events, with their {@code System.nanoTime()} stamp, to a single-producer /
+ * single-consumer ring; {@link #update()} drains the ring at the start of a
+ * tick and applies the events in order to a 256-bit key bitset. Edges come
+ * from XOR against the previous tick's bits, plus keys that were pressed and
+ * released within the same tick so short taps are not lost. Timed rules
+ * such as the escape grace window and the shift repeat measure from those
+ * stamps to the tick's own drain time, never from the wall clock at the
+ * moment a getter happens to run. The bitsets belong to the game thread;
+ * the direction keys are also published once per tick as one volatile word,
+ * which is all the player's movement thread reads. Nothing here allocates
+ * after construction.
+ */
 public class InputHandler {
-    private Set<Integer> pressedKeys;
-    private Set<Integer> previousKeys;
+    private static final int KEY_CAPACITY = 256;
+    private static final int WORDS = KEY_CAPACITY / 64;
+    private static final int QUEUE_CAPACITY = 256;
+    private static final int QUEUE_MASK = QUEUE_CAPACITY - 1;
 
-    private long lastEscTime;
+    private static final int UP = 1;
+    private static final int DOWN = 2;
+    private static final int LEFT = 4;
+    private static final int RIGHT = 8;
 
-    private long lastShiftPressTime = 0;
-    private static final long SHIFT_COOLDOWN = 200;
-    
-    public InputHandler() {
-        pressedKeys = new HashSet<>();
-        previousKeys = new HashSet<>();
-        lastEscTime = 0;
-    }
-    
+    private final int[] queuedKeys = new int[QUEUE_CAPACITY];
+    private final long[] queuedTimes = new long[QUEUE_CAPACITY];
+    private final AtomicLong queueHead = new AtomicLong();
+    private final AtomicLong queueTail = new AtomicLong();
+    private final AtomicLong droppedEvents = new AtomicLong();
+
+    private final long[] pressedKeys = new long[WORDS];
+    private final long[] previousKeys = new long[WORDS];
+    private final long[] justPressedKeys = new long[WORDS];
+    private final long[] tappedKeys = new long[WORDS];
+    private volatile int directionKeys;
+
+    private final int[] tickKeys = new int[QUEUE_CAPACITY];
+    private final long[] tickTimes = new long[QUEUE_CAPACITY];
+    private int tickEventCount;
+    private long maxEventLatency;
+    private long tickNanos = System.nanoTime();
+
+    private boolean escapePending;
+    private long lastEscapeNanos;
+    private static final long ESCAPE_GRACE = 300_000_000L;
+
+    private boolean shiftFired;
+    private long lastShiftNanos;
+    private static final long SHIFT_COOLDOWN = 200_000_000L;
+
+    /**
+     * Drains queued key events into the key state. Call once per tick, on the
+     * game thread, before anything reads input.
+     */
     public void update() {
-        previousKeys = new HashSet<>(pressedKeys);
+        System.arraycopy(pressedKeys, 0, previousKeys, 0, WORDS);
+        for (int w = 0; w < WORDS; w++) {
+            tappedKeys[w] = 0;
+        }
+
+        long now = System.nanoTime();
+        tickNanos = now;
+        long head = queueHead.get();
+        long tail = queueTail.get();
+        tickEventCount = 0;
+        maxEventLatency = 0;
+
+        for (; head < tail; head++) {
+            int slot = (int)(head & QUEUE_MASK);
+            int event = queuedKeys[slot];
+            long time = queuedTimes[slot];
+            int keyCode = event < 0 ? ~event : event;
+
+            if (event >= 0) {
+                pressedKeys[keyCode >>> 6] |= 1L << keyCode;
+                tappedKeys[keyCode >>> 6] |= 1L << keyCode;
+                if (keyCode == KeyEvent.VK_ESCAPE) {
+                    escapePending = true;
+                    lastEscapeNanos = time;
+                }
+            } else {
+                pressedKeys[keyCode >>> 6] &= ~(1L << keyCode);
+            }
+
+            tickKeys[tickEventCount] = event;
+            tickTimes[tickEventCount] = time;
+            tickEventCount++;
+            maxEventLatency = Math.max(maxEventLatency, now - time);
+        }
+        queueHead.lazySet(head);
+
+        for (int w = 0; w < WORDS; w++) {
+            justPressedKeys[w] = ((pressedKeys[w] ^ previousKeys[w]) & pressedKeys[w])
+                    | (tappedKeys[w] & ~previousKeys[w]);
+        }
+
+        directionKeys = (isKeyPressed(KeyEvent.VK_W) || isKeyPressed(KeyEvent.VK_UP) ? UP : 0)
+                | (isKeyPressed(KeyEvent.VK_S) || isKeyPressed(KeyEvent.VK_DOWN) ? DOWN : 0)
+                | (isKeyPressed(KeyEvent.VK_A) || isKeyPressed(KeyEvent.VK_LEFT) ? LEFT : 0)
+                | (isKeyPressed(KeyEvent.VK_D) || isKeyPressed(KeyEvent.VK_RIGHT) ? RIGHT : 0);
     }
-    
+
     public void keyPressed(int keyCode) {
-        pressedKeys.add(keyCode);
-        
-        if (keyCode == KeyEvent.VK_ESCAPE) {
-            lastEscTime = System.currentTimeMillis();
-        }
+        enqueue(keyCode);
     }
-    
+
     public void keyReleased(int keyCode) {
-        pressedKeys.remove(keyCode);
+        enqueue(~keyCode);
+    }
+
+    private void enqueue(int event) {
+        int keyCode = event < 0 ? ~event : event;
+        if (keyCode >= KEY_CAPACITY) return;
+
+        long tail = queueTail.get();
+        if (tail - queueHead.get() == QUEUE_CAPACITY) {
+            droppedEvents.incrementAndGet();
+            return;
+        }
+
+        int slot = (int)(tail & QUEUE_MASK);
+        queuedKeys[slot] = event;
+        queuedTimes[slot] = System.nanoTime();
+        queueTail.lazySet(tail + 1);
     }
-    
+
     public boolean isKeyPressed(int keyCode) {
-        return pressedKeys.contains(keyCode);
+        return isSet(pressedKeys, keyCode);
     }
-    
+
     public boolean isKeyJustPressed(int keyCode) {
-        return pressedKeys.contains(keyCode) && !previousKeys.contains(keyCode);
+        return isSet(justPressedKeys, keyCode);
     }
-    
+
+    private static boolean isSet(long[] bits, int keyCode) {
+        return keyCode >= 0 && keyCode < KEY_CAPACITY && (bits[keyCode >>> 6] & (1L << keyCode)) != 0;
+    }
+
+    /** Number of key events applied by the last {@link #update()}. */
+    public int getTickEventCount() {
+        return tickEventCount;
+    }
+
+    public int getTickEventKey(int index) {
+        int event = tickKeys[index];
+        return event < 0 ? ~event : event;
+    }
+
+    public boolean isTickEventPress(int index) {
+        return tickKeys[index] >= 0;
+    }
+
+    public long getTickEventNanos(int index) {
+        return tickTimes[index];
+    }
+
+    /** When the last {@link #update()} drained the ring, in {@code System.nanoTime()} terms. */
+    public long getTickNanos() {
+        return tickNanos;
+    }
+
+    /** Longest time an event applied by the last update waited in the queue. */
+    public long getMaxEventLatencyNanos() {
+        return maxEventLatency;
+    }
+
+    public long getDroppedEventCount() {
+        return droppedEvents.get();
+    }
+
     public boolean isUpPressed() {
-        return isKeyPressed(KeyEvent.VK_W) || isKeyPressed(KeyEvent.VK_UP);
+        return (directionKeys & UP) != 0;
     }
-    
+
     public boolean isDownPressed() {
-        return isKeyPressed(KeyEvent.VK_S) || isKeyPressed(KeyEvent.VK_DOWN);
+        return (directionKeys & DOWN) != 0;
     }
-    
+
     public boolean isLeftPressed() {
-        return isKeyPressed(KeyEvent.VK_A) || isKeyPressed(KeyEvent.VK_LEFT);
+        return (directionKeys & LEFT) != 0;
     }
-    
+
     public boolean isRightPressed() {
-        return isKeyPressed(KeyEvent.VK_D) || isKeyPressed(KeyEvent.VK_RIGHT);
+        return (directionKeys & RIGHT) != 0;
     }
-    
+
     public boolean isStartPressed() {
         return isKeyJustPressed(KeyEvent.VK_ENTER);
     }
-    
+
     public boolean isFireJustPressed() {
         return isKeyJustPressed(KeyEvent.VK_SPACE);
     }
-    
+
     public boolean isRestartPressed() {
         return isKeyJustPressed(KeyEvent.VK_R);
     }
-    
+
+    /**
+     * True on the tick escape was pressed, and on later ticks while the press
+     * is still within the grace window, until someone has consumed it.
+     */
     public boolean isEscapePressed() {
-        boolean escPressed = isKeyJustPressed(KeyEvent.VK_ESCAPE) || 
-                            (System.currentTimeMillis() - lastEscTime < 300);
-        
+        boolean escPressed = isKeyJustPressed(KeyEvent.VK_ESCAPE) ||
+                            (escapePending && tickNanos - lastEscapeNanos < ESCAPE_GRACE);
+
         if (escPressed) {
-            lastEscTime = 0;
+            escapePending = false;
             return true;
         }
         return false;
     }
 
     public boolean isShiftActionTriggered() {
-        long currentTime = System.currentTimeMillis();
-        
-        if (isKeyPressed(KeyEvent.VK_SHIFT) && currentTime - lastShiftPressTime > SHIFT_COOLDOWN) {
-            lastShiftPressTime = currentTime;
+        if (isKeyPressed(KeyEvent.VK_SHIFT) && (!shiftFired || tickNanos - lastShiftNanos > SHIFT_COOLDOWN)) {
+            shiftFired = true;
+            lastShiftNanos = tickNanos;
             return true;
         }
         return false;
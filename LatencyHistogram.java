@@ -0,0 +1,53 @@
+/**
+ * Durations in whole microseconds, up to ten milliseconds; the last bucket
+ * collects the rest. Not thread-safe: each recorder keeps its own and they
+ * are merged with {@link #add} when reporting.
+ */
+public class LatencyHistogram {
+    private static final int BUCKETS = 10_000;
+
+    private final long[] counts = new long[BUCKETS + 1];
+    private long total;
+    private long sumNanos;
+    private long maxNanos;
+
+    public void record(long nanos) {
+        counts[(int) Math.min(BUCKETS, nanos / 1000)]++;
+        total++;
+        sumNanos += nanos;
+        maxNanos = Math.max(maxNanos, nanos);
+    }
+
+    public void add(LatencyHistogram other) {
+        for (int i = 0; i <= BUCKETS; i++) {
+            counts[i] += other.counts[i];
+        }
+        total += other.total;
+        sumNanos += other.sumNanos;
+        maxNanos = Math.max(maxNanos, other.maxNanos);
+    }
+
+    public double percentileMicros(double percentile) {
+        long rank = (long) Math.ceil(total * percentile / 100.0);
+        long seen = 0;
+        for (int i = 0; i <= BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank && seen > 0) {
+                return i;
+            }
+        }
+        return BUCKETS;
+    }
+
+    public double meanMicros() {
+        return total == 0 ? 0 : sumNanos / 1000.0 / total;
+    }
+
+    public double maxMicros() {
+        return maxNanos / 1000.0;
+    }
+
+    public long getCount() {
+        return total;
+    }
+}
@@ -4,7 +4,7 @@ import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.Random;
+import java.util.SplittableRandom;
 
 public class Level {
     private static final int GRID_WIDTH = 15;  
@@ -26,12 +26,15 @@ public class Level {
         {PLAYABLE_AREA_START + 11, PLAYABLE_AREA_START + 1}, 
     };
     
-    private List<Wall> walls;
+    private TileMap tileMap;
     private List<Tank> enemies;
     private List<PowerUp> powerUps;
     private Eagle eagle;
     private ResourceManager resourceManager;
-    private Random random;
+    private final RandomStreams randomStreams;
+    private final SplittableRandom mapRandom;
+    private final SplittableRandom spawnRandom;
+    private final SplittableRandom powerUpRandom;
     
     private int currentStage = 1;
     private int enemiesKilled = 0;      
@@ -43,19 +46,26 @@ public class Level {
     private Map<Integer, Long> respawnTimers = new HashMap<>(); 
     private int enemyIdCounter = 0;
     private long lastPowerUpSpawnTime;
+    private final GameClock clock;
+    private EnemyAiExecutor enemyAi = new EnemyAiExecutor();
     
-    public Level(ResourceManager resourceManager) {
-        this(resourceManager, 1); 
+    public Level(ResourceManager resourceManager, GameClock clock, RandomStreams randomStreams) {
+        this(resourceManager, 1, clock, randomStreams); 
     }
 
-    public Level(ResourceManager resourceManager, int stage) {
+    public Level(ResourceManager resourceManager, int stage, GameClock clock, RandomStreams randomStreams) {
         this.currentStage = stage;
         this.resourceManager = resourceManager;
-        this.walls = new ArrayList<>();
+        this.clock = clock;
+        this.tileMap = new TileMap(GRID_WIDTH, GRID_HEIGHT, CELL_SIZE);
+        this.tileMap.setResourceManager(resourceManager);
         this.enemies = new ArrayList<>();
         this.powerUps = new ArrayList<>();
-        this.random = new Random();
-        this.lastPowerUpSpawnTime = System.currentTimeMillis();
+        this.randomStreams = randomStreams;
+        this.mapRandom = randomStreams.stream(RandomStreams.Stream.MAP);
+        this.spawnRandom = randomStreams.stream(RandomStreams.Stream.SPAWNS);
+        this.powerUpRandom = randomStreams.stream(RandomStreams.Stream.POWER_UPS);
+        this.lastPowerUpSpawnTime = clock.millis();
         
         createSimpleLevel();
         createInitialEnemyTanks();
@@ -77,12 +87,14 @@ public class Level {
     }
     
     public void setPlayerHealth(int health) { this.playerHealth = health; }
+    
+    public void setEnemyAi(EnemyAiExecutor enemyAi) { this.enemyAi = enemyAi; }
     public int getPlayerHealth() { return playerHealth; }
     public boolean isStageCompleted() { return enemiesKilled >= MAX_ENEMIES_PER_STAGE && !gameOverTriggered; }
     public int getRemainingEnemies() { return MAX_ENEMIES_PER_STAGE - enemiesKilled; }
     public void enemyKilled() { enemiesKilled++; }
     public void triggerGameOver() { gameOverTriggered = true; }
-    public List<Wall> getWalls() { return walls; }
+    public TileMap getTileMap() { return tileMap; }
     public List<Tank> getEnemies() { return enemies; }
     public List<PowerUp> getPowerUps() { return powerUps; }
     public Eagle getEagle() { return eagle; }
@@ -101,8 +113,9 @@ public class Level {
             float x = ENEMY_SPAWN_POSITIONS_GRID[i][0] * CELL_SIZE;
             float y = ENEMY_SPAWN_POSITIONS_GRID[i][1] * CELL_SIZE;
             
-            Tank enemyTank = new Tank(x, y, false, tankType, resourceManager);
+            Tank enemyTank = new Tank(x, y, false, tankType, resourceManager, clock);
             enemyTank.setId(++enemyIdCounter);
+            enemyTank.setRandom(randomStreams.stream(RandomStreams.Stream.ENEMY, enemyTank.getId()));
             
             boolean isFlashingTank = false;
             for (int idx : FLASHING_TANK_INDEXES) {
@@ -123,20 +136,20 @@ public class Level {
         int typeIndex;
         
         if (currentStage <= 2) {
-            int roll = random.nextInt(100);
+            int roll = spawnRandom.nextInt(100);
             if (roll < 70) typeIndex = 0;
             else if (roll < 90) typeIndex = 1;
             else typeIndex = 2;
         } 
         else if (currentStage <= 5) {
-            int roll = random.nextInt(100);
+            int roll = spawnRandom.nextInt(100);
             if (roll < 40) typeIndex = 0;
             else if (roll < 70) typeIndex = 1;
             else if (roll < 90) typeIndex = 2;
             else typeIndex = 3;
         }
         else {
-            int roll = random.nextInt(100);
+            int roll = spawnRandom.nextInt(100);
             if (roll < 20) typeIndex = 0;
             else if (roll < 50) typeIndex = 1;
             else if (roll < 80) typeIndex = 2;
@@ -197,24 +210,24 @@ public class Level {
                     continue;
                 }
                 
-                int worldX = (PLAYABLE_AREA_START + x) * CELL_SIZE;
-                int worldY = (PLAYABLE_AREA_START + y) * CELL_SIZE;
+                int gridX = PLAYABLE_AREA_START + x;
+                int gridY = PLAYABLE_AREA_START + y;
                 
                 switch (cell) {
                     case 'B': 
-                        walls.add(new Wall(worldX, worldY, Wall.WallType.BRICK, resourceManager));
+                        tileMap.setTile(gridX, gridY, Wall.WallType.BRICK);
                         break;
                     case 'S': 
-                        walls.add(new Wall(worldX, worldY, Wall.WallType.STEEL, resourceManager));
+                        tileMap.setTile(gridX, gridY, Wall.WallType.STEEL);
                         break;
                     case 'W': 
-                        walls.add(new Wall(worldX, worldY, Wall.WallType.WATER, resourceManager));
+                        tileMap.setTile(gridX, gridY, Wall.WallType.WATER);
                         break;
                     case 'T': 
-                        walls.add(new Wall(worldX, worldY, Wall.WallType.TREES, resourceManager));
+                        tileMap.setTile(gridX, gridY, Wall.WallType.TREES);
                         break;
                     case 'I':
-                    walls.add(new Wall(worldX, worldY, Wall.WallType.ICE, resourceManager));
+                    tileMap.setTile(gridX, gridY, Wall.WallType.ICE);
                     break;
                 }
             }
@@ -244,49 +257,73 @@ public class Level {
     }
 
     for (int i = 0; i < 25; i++) {
-        int x = 1 + random.nextInt(GRID_WIDTH - 2);
-        int y = 1 + random.nextInt(GRID_HEIGHT - 2);
+        int x = 1 + mapRandom.nextInt(GRID_WIDTH - 2);
+        int y = 1 + mapRandom.nextInt(GRID_HEIGHT - 2);
 
         if (isValidWallPosition(x, y, playerX, playerY, eagleX, eagleY) && !protectedCells[x][y]) {
-            walls.add(new Wall(x * CELL_SIZE, y * CELL_SIZE, Wall.WallType.BRICK, resourceManager));
+            placeRandomTile(x, y, Wall.WallType.BRICK);
         }
     }
 
         for (int i = 0; i < 4; i++) {
-            int x = 1 + random.nextInt(GRID_WIDTH - 2);
-            int y = 1 + random.nextInt(GRID_HEIGHT - 2);
+            int x = 1 + mapRandom.nextInt(GRID_WIDTH - 2);
+            int y = 1 + mapRandom.nextInt(GRID_HEIGHT - 2);
             if (isValidWallPosition(x, y, playerX, playerY, eagleX, eagleY)) {
-                walls.add(new Wall(x * CELL_SIZE, y * CELL_SIZE, Wall.WallType.WATER, resourceManager));
+                placeRandomTile(x, y, Wall.WallType.WATER);
             }
 
-            x = 1 + random.nextInt(GRID_WIDTH - 2);
-            y = 1 + random.nextInt(GRID_HEIGHT - 2);
+            x = 1 + mapRandom.nextInt(GRID_WIDTH - 2);
+            y = 1 + mapRandom.nextInt(GRID_HEIGHT - 2);
             if (isValidWallPosition(x, y, playerX, playerY, eagleX, eagleY)) {
-                walls.add(new Wall(x * CELL_SIZE, y * CELL_SIZE, Wall.WallType.ICE, resourceManager));
+                placeRandomTile(x, y, Wall.WallType.ICE);
             }
 
-            x = 1 + random.nextInt(GRID_WIDTH - 2);
-            y = 1 + random.nextInt(GRID_HEIGHT - 2);
+            x = 1 + mapRandom.nextInt(GRID_WIDTH - 2);
+            y = 1 + mapRandom.nextInt(GRID_HEIGHT - 2);
             if (isValidWallPosition(x, y, playerX, playerY, eagleX, eagleY)) {
-                walls.add(new Wall(x * CELL_SIZE, y * CELL_SIZE, Wall.WallType.TREES, resourceManager));
+                placeRandomTile(x, y, Wall.WallType.TREES);
             }
         }
     }
 
+    /**
+     * Random placements can land on a cell that already has a tile. The old
+     * wall list simply stacked both; a cell holds one tile now, so the one that
+     * matters more for play is kept: steel, brick, water, trees, then ice.
+     */
+    private void placeRandomTile(int x, int y, Wall.WallType type) {
+        Wall.WallType current = tileMap.typeAt(x, y);
+        if (current == null || stackPriority(type) > stackPriority(current)) {
+            tileMap.setTile(x, y, type);
+        }
+    }
+
+    private static int stackPriority(Wall.WallType type) {
+        switch (type) {
+            case STEEL: return 4;
+            case BRICK: return 3;
+            case WATER: return 2;
+            case TREES: return 1;
+            default:    return 0;
+        }
+    }
+
     public void resetEagleProtectionWalls() {
         int eagleX = (int)eagle.getX() / CELL_SIZE;
         int eagleY = (int)eagle.getY() / CELL_SIZE;
 
-        walls.removeIf(wall -> 
-            (Math.abs(wall.getX() / CELL_SIZE - eagleX) <= 1 && Math.abs(wall.getY() / CELL_SIZE - eagleY) <= 1)
-        );
+        for (int row = eagleY - 1; row <= eagleY + 1; row++) {
+            for (int column = eagleX - 1; column <= eagleX + 1; column++) {
+                tileMap.clearTile(column, row);
+            }
+        }
 
-        walls.add(new Wall((eagleX-1) * CELL_SIZE, eagleY * CELL_SIZE, Wall.WallType.BRICK, resourceManager));
-        walls.add(new Wall(eagleX * CELL_SIZE, (eagleY-1) * CELL_SIZE, Wall.WallType.BRICK, resourceManager));
-        walls.add(new Wall((eagleX+1) * CELL_SIZE, eagleY * CELL_SIZE, Wall.WallType.BRICK, resourceManager));
+        tileMap.setTile(eagleX - 1, eagleY, Wall.WallType.BRICK);
+        tileMap.setTile(eagleX, eagleY - 1, Wall.WallType.BRICK);
+        tileMap.setTile(eagleX + 1, eagleY, Wall.WallType.BRICK);
 
-        walls.add(new Wall((eagleX-1) * CELL_SIZE, (eagleY-1) * CELL_SIZE, Wall.WallType.BRICK, resourceManager));
-        walls.add(new Wall((eagleX+1) * CELL_SIZE, (eagleY-1) * CELL_SIZE, Wall.WallType.BRICK, resourceManager));
+        tileMap.setTile(eagleX - 1, eagleY - 1, Wall.WallType.BRICK);
+        tileMap.setTile(eagleX + 1, eagleY - 1, Wall.WallType.BRICK);
     }
     
     private boolean isValidWallPosition(int x, int y, int playerX, int playerY, int eagleX, int eagleY) {
@@ -321,7 +358,7 @@ public class Level {
         
         String tankType = getTankTypeForStage();
         
-        int spawnIndex = random.nextInt(ENEMY_SPAWN_POSITIONS_GRID.length);
+        int spawnIndex = spawnRandom.nextInt(ENEMY_SPAWN_POSITIONS_GRID.length);
         float x = ENEMY_SPAWN_POSITIONS_GRID[spawnIndex][0] * CELL_SIZE;
         float y = ENEMY_SPAWN_POSITIONS_GRID[spawnIndex][1] * CELL_SIZE;
         
@@ -335,8 +372,9 @@ public class Level {
             }
         }
         if (positionClear) {
-            Tank newTank = new Tank(x, y, false, tankType, resourceManager);
+            Tank newTank = new Tank(x, y, false, tankType, resourceManager, clock);
             newTank.setId(++enemyIdCounter);
+            newTank.setRandom(randomStreams.stream(RandomStreams.Stream.ENEMY, newTank.getId()));
 
             boolean isFlashingTank = false;
             for (int idx : FLASHING_TANK_INDEXES) {
@@ -366,7 +404,7 @@ public class Level {
         }
         
         if (enemiesSpawned < MAX_ENEMIES_PER_STAGE) {
-            respawnTimers.put(enemyId, System.currentTimeMillis() + ENEMY_RESPAWN_DELAY);
+            respawnTimers.put(enemyId, clock.millis() + ENEMY_RESPAWN_DELAY);
         }
     }
 
@@ -390,7 +428,7 @@ public class Level {
         
     do {
         validPosition = true;
-        spawnPos = PowerUp.getRandomSpawnLocation(random);
+        spawnPos = PowerUp.getRandomSpawnLocation(powerUpRandom);
         x = spawnPos[0] + Level.getPlayableAreaStart();
         y = spawnPos[1] + Level.getPlayableAreaStart();
             
@@ -401,49 +439,37 @@ public class Level {
             validPosition = false;
             continue;
         }
-        for (Wall wall : walls) {
-            if (wall.isActive() && 
-                x * CELL_SIZE == wall.getX() && 
-                y * CELL_SIZE == wall.getY() &&
-                wall.blocksMovement()) { 
-                validPosition = false;
-                break;
-            }
+        if (tileMap.blocksMovement(x, y)) {
+            validPosition = false;
         }
     } while (!validPosition);
 
     PowerUp.PowerUpType[] types = PowerUp.PowerUpType.values();
-    PowerUp.PowerUpType randomType = types[random.nextInt(types.length)];
+    PowerUp.PowerUpType randomType = types[powerUpRandom.nextInt(types.length)];
     
-    powerUps.add(new PowerUp(x * CELL_SIZE, y * CELL_SIZE, randomType, resourceManager));
+    powerUps.add(new PowerUp(x * CELL_SIZE, y * CELL_SIZE, randomType, resourceManager, clock));
     waitingForPowerupSpawn = false;
     }
 
-        public void render(Graphics2D g) {
-        drawBoundaries(g);
-
-        for (Wall wall : walls) {
-            if (wall.isActive() && wall.getWallType() != Wall.WallType.TREES) {
-                wall.render(g);
-            }
-        }
+    /**
+     * Adds the terrain and everything drawn up to the tree layer. The
+     * snapshot's own terrain copy is brought up to date in place.
+     */
+    public void capture(WorldSnapshot snapshot, long currentTime) {
+        snapshot.setTerrain(tileMap.snapshot(snapshot.getTerrain()));
+        
+        eagle.capture(snapshot);
         
-        eagle.render(g);
-
         for (PowerUp powerUp : powerUps) {
             if (powerUp.isActive()) {
-                powerUp.render(g);
+                powerUp.capture(snapshot, currentTime);
             }
         }
         
-        for (Wall wall : walls) {
-            if (wall.isActive() && wall.getWallType() == Wall.WallType.TREES) {
-                wall.render(g);
-            }
-        }
+        snapshot.markTreeLayer();
     }
 
-    private void drawBoundaries(Graphics2D g) {
+    public static void drawBoundaries(Graphics2D g) {
         g.setColor(Color.DARK_GRAY);
 
         g.fillRect(0, 0, GRID_WIDTH * CELL_SIZE, PLAYABLE_AREA_START * CELL_SIZE);
@@ -460,15 +486,13 @@ public class Level {
     public void update() {
         enemies.removeIf(enemy -> !enemy.isActive());
 
-        walls.removeIf(wall -> !wall.isActive());
-     
         powerUps.removeIf(powerUp -> !powerUp.isActive());
         
         for (PowerUp powerUp : powerUps) {
             powerUp.update();
         }
         
-        long currentTime = System.currentTimeMillis();
+        long currentTime = clock.millis();
         Iterator<Map.Entry<Integer, Long>> it = respawnTimers.entrySet().iterator();
         
         while (it.hasNext()) {
@@ -484,30 +508,9 @@ public class Level {
             lastPowerUpSpawnTime = currentTime;
         }
         
-        for (Tank enemy : enemies) {
-            if (!enemy.isActive()) continue;
-            
-             if (enemy.isFrozen()) {
-                enemy.update();
-                continue;
-            }
-            
-            float targetX = eagle.getX();
-            float targetY = eagle.getY();
-            
-            GameObject.Direction targetDirection = enemy.getDirectionToTarget(targetX, targetY);
-            
-            if (random.nextInt(100) < 60) {
-                enemy.move(targetDirection);
-            } else {
-                GameObject.Direction[] directions = GameObject.Direction.values();
-                enemy.move(directions[random.nextInt(directions.length)]);
-            }
-            
-            enemy.update();
-        }
+        enemyAi.tick(enemies, eagle);
         
-        if (enemies.size() < MAX_ACTIVE_ENEMIES && enemiesSpawned < MAX_ENEMIES_PER_STAGE && random.nextInt(100) < 5) {
+        if (enemies.size() < MAX_ACTIVE_ENEMIES && enemiesSpawned < MAX_ENEMIES_PER_STAGE && spawnRandom.nextInt(100) < 5) {
             addNewEnemyTank();
         }
     }
@@ -518,16 +521,11 @@ public class Level {
         
         do {
             validPosition = true;
-            x = 2 + random.nextInt(GRID_WIDTH - 4);
-            y = 2 + random.nextInt(GRID_HEIGHT - 4);
+            x = 2 + powerUpRandom.nextInt(GRID_WIDTH - 4);
+            y = 2 + powerUpRandom.nextInt(GRID_HEIGHT - 4);
             
-            for (Wall wall : walls) {
-                if (wall.isActive() && 
-                    x * CELL_SIZE == wall.getX() && 
-                    y * CELL_SIZE == wall.getY()) {
-                    validPosition = false;
-                    break;
-                }
+            if (tileMap.isIntact(x, y)) {
+                validPosition = false;
             }
             
             for (Tank tank : enemies) {
@@ -547,8 +545,8 @@ public class Level {
         } while (!validPosition);
         
         PowerUp.PowerUpType[] types = PowerUp.PowerUpType.values();
-        PowerUp.PowerUpType randomType = types[random.nextInt(types.length)];
+        PowerUp.PowerUpType randomType = types[powerUpRandom.nextInt(types.length)];
         
-        powerUps.add(new PowerUp(x * CELL_SIZE, y * CELL_SIZE, randomType, resourceManager));
+        powerUps.add(new PowerUp(x * CELL_SIZE, y * CELL_SIZE, randomType, resourceManager, clock));
     }
 }
\ No newline at end of file
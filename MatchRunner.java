@@ -0,0 +1,95 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Runs many independent headless matches at once on a work-stealing pool and
+ * reports aggregate throughput plus per-tick latency. Every match is its own
+ * task, so idle workers steal whole matches from busy ones.
+ *
+ * Usage: java MatchRunner [matches] [ticksPerMatch] [parallelism] [seed]
+ */
+public class MatchRunner {
+    private static class MatchTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final SimulatedMatch match;
+        private final LatencyHistogram latency;
+        private final long ticks;
+
+        MatchTask(SimulatedMatch match, LatencyHistogram latency, long ticks) {
+            this.match = match;
+            this.latency = latency;
+            this.ticks = ticks;
+        }
+
+        @Override
+        protected void compute() {
+            for (long t = 0; t < ticks; t++) {
+                long start = System.nanoTime();
+                match.step();
+                latency.record(System.nanoTime() - start);
+            }
+        }
+    }
+
+    public static void main(String[] args) {
+        System.setProperty("java.awt.headless", "true");
+
+        int matchCount = args.length > 0 ? Integer.parseInt(args[0]) : 64;
+        long ticksPerMatch = args.length > 1 ? Long.parseLong(args[1]) : 36_000;
+        int parallelism = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+        long seed = args.length > 3 ? Long.parseLong(args[3]) : 1;
+
+        List<SimulatedMatch> matches = new ArrayList<>();
+        List<LatencyHistogram> latencies = new ArrayList<>();
+        List<MatchTask> tasks = new ArrayList<>();
+
+        for (int m = 0; m < matchCount; m++) {
+            SimulatedMatch match = new SimulatedMatch(seed + m);
+            LatencyHistogram latency = new LatencyHistogram();
+            matches.add(match);
+            latencies.add(latency);
+            tasks.add(new MatchTask(match, latency, ticksPerMatch));
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        long start = System.nanoTime();
+        try {
+            pool.invoke(new RecursiveAction() {
+                @Override
+                protected void compute() {
+                    invokeAll(tasks);
+                }
+            });
+        } finally {
+            pool.shutdown();
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        LatencyHistogram overall = new LatencyHistogram();
+        int worstMatch = 0;
+        int games = 0;
+        for (int m = 0; m < matchCount; m++) {
+            overall.add(latencies.get(m));
+            games += matches.get(m).getGamesPlayed();
+            if (latencies.get(m).percentileMicros(99) > latencies.get(worstMatch).percentileMicros(99)) {
+                worstMatch = m;
+            }
+        }
+
+        long totalTicks = matchCount * ticksPerMatch;
+        System.out.printf("Matches: %d on %d threads, %d ticks each, %d games played%n",
+                          matchCount, parallelism, ticksPerMatch, games);
+        System.out.printf("Wall time: %.2f s, throughput: %.0f ticks/s (%.1f real-time matches)%n",
+                          seconds, totalTicks / seconds, totalTicks / seconds / GameClock.TICKS_PER_SECOND);
+        System.out.printf("Tick latency: mean %.1f us, p50 %.0f us, p99 %.0f us, p99.9 %.0f us, max %.0f us%n",
+                          overall.meanMicros(), overall.percentileMicros(50), overall.percentileMicros(99),
+                          overall.percentileMicros(99.9), overall.maxMicros());
+
+        LatencyHistogram worst = latencies.get(worstMatch);
+        System.out.printf("Worst match #%d: p99 %.0f us, max %.0f us%n",
+                          worstMatch, worst.percentileMicros(99), worst.maxMicros());
+    }
+}
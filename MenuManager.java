@@ -11,6 +11,9 @@ public class MenuManager {
     private int screenWidth;
     private int screenHeight;
     
+    private BufferedImage background;
+    private TextLabel arrowLabel;
+    
     public MenuManager(ResourceManager resourceManager,int screenWidth, int screenHeight) {
         this.screenWidth = screenWidth;
         this.screenHeight = screenHeight;
@@ -38,7 +41,14 @@ public class MenuManager {
         }
     }
 
-    public void render(Graphics2D g) {
+    /**
+     * Everything on the menu except the arrow never changes, so it is drawn
+     * once into an image and each frame is one blit plus the arrow.
+     */
+    private void createBackground() {
+        background = ResourceManager.createCompatibleImage(screenWidth, screenHeight, Transparency.OPAQUE);
+        Graphics2D g = background.createGraphics();
+        
         g.setColor(Color.BLACK);
         g.fillRect(0, 0, screenWidth, screenHeight);
         
@@ -50,29 +60,48 @@ public class MenuManager {
         
         g.drawLine(screenWidth/2 - 150, 40, screenWidth/2 + 150, 40);
         
+        Font itemFont = new Font("Courier", Font.BOLD, 18);
         g.setColor(Color.LIGHT_GRAY);
-        g.setFont(new Font("Courier", Font.BOLD, 18));
-        
-        int tankX = screenWidth/2 - 50; 
-        int letterX = screenWidth/2 + 25; 
-        int arrowX = tankX - 35; 
+        g.setFont(itemFont);
         
         for (int i = 0; i < MENU_ITEMS; i++) {
             int y = 150 + i * 24;
-            
-            g.drawString("TANK", tankX, y);
-            
-            g.drawString(LETTERS[i], letterX, y);
-            
-            if (i == selectedIndex) {
-                if (arrowImage != null) {
-                    g.drawImage(arrowImage, arrowX, y - 12, 20, 20, null);
-                } else {
-                    g.drawString("→", arrowX + 10, y);
-                }
-            }
+            g.drawString("TANK", screenWidth/2 - 50, y);
+            g.drawString(LETTERS[i], screenWidth/2 + 25, y);
+        }
+        g.dispose();
+        
+        arrowLabel = new TextLabel(itemFont, Color.LIGHT_GRAY, "→");
+        
+        if (arrowImage != null) {
+            BufferedImage scaledArrow = ResourceManager.createCompatibleImage(20, 20, Transparency.TRANSLUCENT);
+            Graphics2D arrowGraphics = scaledArrow.createGraphics();
+            arrowGraphics.drawImage(arrowImage, 0, 0, 20, 20, null);
+            arrowGraphics.dispose();
+            arrowImage = scaledArrow;
+        }
+    }
+
+    /**
+     * Draws the menu with the arrow at {@code selectedIndex}, which the
+     * render thread takes from the snapshot rather than from this manager.
+     */
+    public void render(Graphics2D g, int selectedIndex) {
+        if (background == null) {
+            createBackground();
         }
+        
+        g.drawImage(background, 0, 0, null);
+        
+        int arrowX = screenWidth/2 - 50 - 35; 
+        int y = 150 + selectedIndex * 24;
+        
+        if (arrowImage != null) {
+            g.drawImage(arrowImage, arrowX, y - 12, null);
+        } else {
+            arrowLabel.draw(g, arrowX + 10, y);
         }
+    }
 
     public int getSelectedIndex() {
         return selectedIndex;
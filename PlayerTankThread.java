@@ -1,35 +1,45 @@
 // PlayerTankThread.java
-public class PlayerTankThread extends Thread {
+public class PlayerTankThread implements Runnable {
     private ThreadSafeTank playerTank;
     private InputHandler inputHandler;
-    private CollisionManager collisionManager;
     private volatile boolean running = true;
+    private TickGate tickGate;
     private static final int UPDATE_RATE = 60; 
     
-    public PlayerTankThread(ThreadSafeTank playerTank, InputHandler inputHandler, 
-                           CollisionManager collisionManager) {
+    /**
+     * Drives the player's movement only, through the tank's packed state.
+     * Shots and {@link Tank#update()} stay on the game thread.
+     */
+    public PlayerTankThread(ThreadSafeTank playerTank, InputHandler inputHandler) {
         this.playerTank = playerTank;
         this.inputHandler = inputHandler;
-        this.collisionManager = collisionManager;
-        setName("PlayerTankThread");
     }
     
     @Override
     public void run() {
         long targetTime = 1000 / UPDATE_RATE;
+        long lastTick = tickGate != null ? tickGate.getTick() : 0;
         
         while (running) {
             long startTime = System.currentTimeMillis();
             
             try {
                 handlePlayerInput();
-                
-                playerTank.update();
-                
             } catch (Exception e) {
                 System.err.println("Player thread error: " + e.getMessage());
             }
             
+            if (tickGate != null) {
+                try {
+                    lastTick = tickGate.awaitAfter(lastTick);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+                if (tickGate.isClosed()) break;
+                continue;
+            }
+            
             long elapsedTime = System.currentTimeMillis() - startTime;
             long sleepTime = targetTime - elapsedTime;
             
@@ -48,25 +58,22 @@ public class PlayerTankThread extends Thread {
         if (!playerTank.isActive()) return;
         
         if (inputHandler.isUpPressed()) {
-            playerTank.setDirection(GameObject.Direction.UP);
             playerTank.threadSafeMove(GameObject.Direction.UP);
         } else if (inputHandler.isDownPressed()) {
-            playerTank.setDirection(GameObject.Direction.DOWN);
             playerTank.threadSafeMove(GameObject.Direction.DOWN);
         } else if (inputHandler.isLeftPressed()) {
-            playerTank.setDirection(GameObject.Direction.LEFT);
             playerTank.threadSafeMove(GameObject.Direction.LEFT);
         } else if (inputHandler.isRightPressed()) {
-            playerTank.setDirection(GameObject.Direction.RIGHT);
             playerTank.threadSafeMove(GameObject.Direction.RIGHT);
         }
-        
-        if (inputHandler.isFireJustPressed()) {
-            Bullet bullet = playerTank.threadSafeShoot();
-            if (bullet != null) {
-                collisionManager.addBullet(bullet);
-            }
-        }
+    }
+    
+    /**
+     * Paces the loop by game ticks instead of wall-clock sleeps. Must be set
+     * before the loop starts.
+     */
+    public void setTickGate(TickGate tickGate) {
+        this.tickGate = tickGate;
     }
     
     public void stopThread() {
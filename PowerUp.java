@@ -1,5 +1,4 @@
-import java.awt.*;
-import java.util.Random;
+import java.util.SplittableRandom;
 
 public class PowerUp extends GameObject {
     public enum PowerUpType {
@@ -12,16 +11,18 @@ public class PowerUp extends GameObject {
     }
     
     private PowerUpType type;
-    private ResourceManager resourceManager;
+    private final int sprite;
     private long spawnTime;
+    private final GameClock clock;
     private static final long LIFETIME = 15000; 
      public static final int POINTS_VALUE = 500;
     
-    public PowerUp(float x, float y, PowerUpType type, ResourceManager resourceManager) {
+    public PowerUp(float x, float y, PowerUpType type, ResourceManager resourceManager, GameClock clock) {
         super(x, y, 32, 32);
         this.type = type;
-        this.resourceManager = resourceManager;
-        this.spawnTime = System.currentTimeMillis();
+        this.sprite = resourceManager.getSpriteHandle("powerup_" + type.toString().toLowerCase());
+        this.clock = clock;
+        this.spawnTime = clock.millis();
     }
     
     private static final int[][] SPAWN_LOCATIONS = {
@@ -32,31 +33,22 @@ public class PowerUp extends GameObject {
         {2, 10}, {6, 10}, {10, 10}
     };
 
-    public static int[] getRandomSpawnLocation(Random random) {
+    public static int[] getRandomSpawnLocation(SplittableRandom random) {
         return SPAWN_LOCATIONS[random.nextInt(SPAWN_LOCATIONS.length)];
     }
 
     @Override
     public void update() {
-        if (System.currentTimeMillis() - spawnTime > LIFETIME) {
+        if (clock.millis() - spawnTime > LIFETIME) {
             active = false;
         }
     }
     
-    @Override
-    public void render(Graphics2D g) {
-        String imageKey = "powerup_" + type.toString().toLowerCase();
+    public void capture(WorldSnapshot snapshot, long currentTime) {
+        snapshot.addSprite(sprite, x, y);
         
-        if (resourceManager.isImageLoaded(imageKey)) {
-            g.drawImage(resourceManager.getImage(imageKey), (int)x, (int)y, null);
-        } 
-
-        if ((System.currentTimeMillis() / 200) % 2 == 0 && 
-            System.currentTimeMillis() - spawnTime > LIFETIME - 3000) {
-            g.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, 0.5f));
-            g.setColor(Color.WHITE);
-            g.fillRect((int)x, (int)y, width, height);
-            g.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, 1.0f));
+        if ((currentTime / 200) % 2 == 0 && currentTime - spawnTime > LIFETIME - 3000) {
+            snapshot.addSprite(SpriteAtlas.NO_SPRITE, (int)x, (int)y, width, height, 0.5f);
         }
     }
     
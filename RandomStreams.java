@@ -0,0 +1,46 @@
+import java.util.SplittableRandom;
+
+/**
+ * All gameplay randomness for one match, derived from a single seed. Every
+ * subsystem and every entity gets its own {@link SplittableRandom}, seeded
+ * from the match seed and a stable key rather than from creation order, so
+ * adding a draw in one place never shifts the numbers seen anywhere else and
+ * no generator is ever shared between threads.
+ */
+public class RandomStreams {
+    public enum Stream {
+        MAP, SPAWNS, POWER_UPS, ENEMY, INPUT
+    }
+
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private final long seed;
+
+    public RandomStreams(long seed) {
+        this.seed = seed;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    /** Streams for a sub-scope such as one game of a match or one stage of a game. */
+    public RandomStreams child(long key) {
+        return new RandomStreams(mix(seed, key));
+    }
+
+    public SplittableRandom stream(Stream stream) {
+        return stream(stream, 0);
+    }
+
+    public SplittableRandom stream(Stream stream, long entityId) {
+        return new SplittableRandom(mix(mix(seed, stream.ordinal() + 1), entityId));
+    }
+
+    private static long mix(long seed, long key) {
+        long z = seed + (key + 1) * GOLDEN_GAMMA;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,74 @@
+import java.awt.Graphics2D;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+
+/**
+ * Drives a real engine offscreen and counts the heap bytes allocated while
+ * rendering each frame, per screen, into a game-resolution image as
+ * {@link GameCanvas} does. The simulation runs between frames but is not
+ * counted, as in the game where it lives on another thread. A render path
+ * without per-frame garbage reports zero bytes per frame once warmed up;
+ * frames where a HUD value changed redraw that label and show up in the max.
+ *
+ * Usage: java RenderAllocationCheck [framesPerScreen]
+ */
+public class RenderAllocationCheck {
+    private static final int WARMUP_FRAMES = 20_000;
+
+    public static void main(String[] args) {
+        System.setProperty("java.awt.headless", "true");
+
+        int frames = args.length > 0 ? Integer.parseInt(args[0]) : 600;
+
+        if (!AllocationCounter.isSupported()) {
+            System.out.println("Per-thread allocation counting is not available on this JVM.");
+            return;
+        }
+
+        int width = Level.getGridWidth() * Level.CELL_SIZE;
+        int height = Level.getGridHeight() * Level.CELL_SIZE;
+        BufferedImage target = ResourceManager.createCompatibleImage(width, height, Transparency.OPAQUE);
+        Graphics2D g = target.createGraphics();
+
+        GameEngine engine = new GameEngine(new ResourceManager(), new InputHandler(), new GameClock(), false, 1);
+
+        measure("menu", engine, g, frames, false);
+        engine.startGameFromMenu();
+        engine.update();
+        measure("stage intro", engine, g, Math.min(frames, 80), true);
+        while (engine.isInMenuState() || engine.getClock().millis() < 2000) {
+            engine.update();
+        }
+        measure("playing", engine, g, frames, true);
+        g.dispose();
+    }
+
+    private static void measure(String screen, GameEngine engine, Graphics2D g, int frames, boolean simulate) {
+        long total = 0;
+        long max = 0;
+        int counted = 0;
+        int allocatingFrames = 0;
+
+        for (int frame = 0; frame < WARMUP_FRAMES + frames; frame++) {
+            if (simulate && frame >= WARMUP_FRAMES) {
+                engine.update();
+            }
+
+            long before = AllocationCounter.currentThreadAllocatedBytes();
+            engine.render(g, 0.5f);
+            long allocated = AllocationCounter.currentThreadAllocatedBytes() - before;
+
+            if (frame >= WARMUP_FRAMES) {
+                total += allocated;
+                max = Math.max(max, allocated);
+                counted++;
+                if (allocated > 0) {
+                    allocatingFrames++;
+                }
+            }
+        }
+
+        System.out.printf("%-12s %8.1f bytes/frame avg, %6d max, %d of %d frames allocated%n",
+                          screen, (double) total / counted, max, allocatingFrames, counted);
+    }
+}
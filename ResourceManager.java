@@ -1,4 +1,8 @@
 import javax.imageio.ImageIO;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.GraphicsEnvironment;
+import java.awt.Transparency;
 import java.awt.image.BufferedImage;
 import java.io.File;
 import java.io.IOException;
@@ -8,10 +12,37 @@ import java.util.Map;
 public class ResourceManager {
     private Map<String, BufferedImage> imageCache;
     private String imagePath = "./images/";
+    private final boolean headless;
+    private SpriteAtlas atlas;
     
     public ResourceManager() {
+        this(false);
+    }
+    
+    /**
+     * A headless manager never touches the disk or ImageIO; every lookup
+     * misses, which all entities already tolerate.
+     */
+    public ResourceManager(boolean headless) {
+        this.headless = headless;
         imageCache = new HashMap<>();
-        loadAllImages();
+        if (!headless) {
+            loadAllImages();
+        }
+        atlas = new SpriteAtlas(imageCache);
+    }
+    
+    public boolean isHeadless() {
+        return headless;
+    }
+    
+    /** Every sprite loaded at construction, packed into one image. */
+    public SpriteAtlas getAtlas() {
+        return atlas;
+    }
+    
+    public int getSpriteHandle(String key) {
+        return atlas.getHandle(key);
     }
     
     private void loadAllImages() {
@@ -64,17 +95,53 @@ public class ResourceManager {
     }
     
     private void loadImage(String key, String fileName) {
+        if (headless) return;
+        
         try {
             File file = new File(imagePath + fileName);
             if (file.exists()) {
                 BufferedImage image = ImageIO.read(file);
-                imageCache.put(key, image);
+                if (image != null) {
+                    imageCache.put(key, toCompatibleImage(image));
+                }
             }
         } catch (IOException e) {
             System.out.println("Hata");
         }
     }
     
+    /**
+     * Copies an image into the pixel layout of the current display so Java2D
+     * can blit it directly, and cache it in video memory, instead of
+     * converting indexed or custom ImageIO types on every draw.
+     */
+    public static BufferedImage toCompatibleImage(BufferedImage image) {
+        BufferedImage compatible = createCompatibleImage(image.getWidth(), image.getHeight(),
+                                                         image.getTransparency());
+        if (compatible.getColorModel().equals(image.getColorModel())
+                && compatible.getType() == image.getType()) {
+            return image;
+        }
+
+        Graphics2D g = compatible.createGraphics();
+        g.drawImage(image, 0, 0, null);
+        g.dispose();
+        return compatible;
+    }
+
+    /** Without a display the integer RGB layouts Java2D's own loops prefer are used. */
+    public static BufferedImage createCompatibleImage(int width, int height, int transparency) {
+        if (!GraphicsEnvironment.isHeadless()) {
+            GraphicsConfiguration config = GraphicsEnvironment.getLocalGraphicsEnvironment()
+                    .getDefaultScreenDevice().getDefaultConfiguration();
+            return config.createCompatibleImage(width, height, transparency);
+        }
+
+        int type = transparency == Transparency.OPAQUE ? BufferedImage.TYPE_INT_RGB
+                                                        : BufferedImage.TYPE_INT_ARGB_PRE;
+        return new BufferedImage(width, height, type);
+    }
+
     public BufferedImage getImage(String key) {
         BufferedImage image = imageCache.get(key);
         return image;
@@ -94,7 +161,7 @@ public class ResourceManager {
 
     public void loadLogoImage() {
         loadImage("logo", "logo.png");
-        if (!isImageLoaded("logo")) {
+        if (!headless && !isImageLoaded("logo")) {
             System.out.println("Logo görseli yüklenemedi. Varsayılan görsel kullanılacak.");
         }
     }
@@ -0,0 +1,75 @@
+import java.awt.event.KeyEvent;
+import java.util.SplittableRandom;
+
+/**
+ * One headless game driven by a simple scripted bot. Each call to
+ * {@link #step()} runs exactly one simulation tick; finished games are
+ * restarted so a match can be stepped for any number of ticks. Matches share
+ * no state, so any number of them can run side by side.
+ */
+public class SimulatedMatch {
+    private static final int[] MOVE_KEYS = {KeyEvent.VK_UP, KeyEvent.VK_DOWN, KeyEvent.VK_LEFT, KeyEvent.VK_RIGHT};
+    private static final int TURN_INTERVAL = 30;
+    private static final int FIRE_INTERVAL = 15;
+
+    private final InputHandler input = new InputHandler();
+    private final GameClock clock = new GameClock();
+    private final GameEngine engine;
+    private final SplittableRandom bot;
+
+    private long ticks = 0;
+    private int heldKey = -1;
+    private int gamesPlayed = 1;
+    private int bestScore = 0;
+
+    public SimulatedMatch(long seed) {
+        engine = new GameEngine(new ResourceManager(true), input, clock, false, seed);
+        bot = new RandomStreams(seed).stream(RandomStreams.Stream.INPUT);
+        engine.startGameFromMenu();
+    }
+
+    public void step() {
+        if (ticks % TURN_INTERVAL == 0) {
+            if (heldKey >= 0) {
+                input.keyReleased(heldKey);
+            }
+            heldKey = MOVE_KEYS[bot.nextInt(MOVE_KEYS.length)];
+            input.keyPressed(heldKey);
+        }
+        if (ticks % FIRE_INTERVAL == 0) {
+            input.keyPressed(KeyEvent.VK_SPACE);
+        } else if (ticks % FIRE_INTERVAL == 1) {
+            input.keyReleased(KeyEvent.VK_SPACE);
+        }
+
+        input.update();
+        engine.update();
+        ticks++;
+
+        if (engine.isMatchOver()) {
+            bestScore = Math.max(bestScore, engine.getScore());
+            engine.resetGame();
+            gamesPlayed++;
+        }
+    }
+
+    public long getTicks() {
+        return ticks;
+    }
+
+    public GameClock getClock() {
+        return clock;
+    }
+
+    public GameEngine getEngine() {
+        return engine;
+    }
+
+    public int getGamesPlayed() {
+        return gamesPlayed;
+    }
+
+    public int getBestScore() {
+        return Math.max(bestScore, engine.getScore());
+    }
+}
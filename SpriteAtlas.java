@@ -0,0 +1,119 @@
+import java.awt.Graphics2D;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * All sprites packed into one display-compatible image at load time. Each
+ * sprite is addressed by an integer handle resolved once, when an entity or
+ * system is created; drawing is then a single {@code drawImage} of a source
+ * rectangle with no string building or map lookups. Sprites are packed on
+ * shelves, tallest first, with a pixel of padding so scaled draws never bleed
+ * into a neighbour.
+ */
+public class SpriteAtlas {
+    public static final int NO_SPRITE = -1;
+    private static final int PADDING = 1;
+    private static final int MAX_WIDTH = 2048;
+
+    private final BufferedImage image;
+    private final Map<String, Integer> handles = new HashMap<>();
+    private final int[] xs;
+    private final int[] ys;
+    private final int[] widths;
+    private final int[] heights;
+
+    public SpriteAtlas(Map<String, BufferedImage> sprites) {
+        List<String> keys = new ArrayList<>(sprites.keySet());
+        Collections.sort(keys);
+        keys.sort((a, b) -> sprites.get(b).getHeight() - sprites.get(a).getHeight());
+
+        int count = keys.size();
+        xs = new int[count];
+        ys = new int[count];
+        widths = new int[count];
+        heights = new int[count];
+
+        long area = 0;
+        int widest = 0;
+        for (String key : keys) {
+            BufferedImage sprite = sprites.get(key);
+            area += (long) (sprite.getWidth() + PADDING) * (sprite.getHeight() + PADDING);
+            widest = Math.max(widest, sprite.getWidth() + PADDING);
+        }
+        int atlasWidth = Math.max(widest, Math.min(MAX_WIDTH, Integer.highestOneBit((int) Math.sqrt(area) * 2 + 1)));
+
+        int shelfX = 0;
+        int shelfY = 0;
+        int shelfHeight = 0;
+        for (int handle = 0; handle < count; handle++) {
+            BufferedImage sprite = sprites.get(keys.get(handle));
+            if (shelfX + sprite.getWidth() > atlasWidth) {
+                shelfX = 0;
+                shelfY += shelfHeight;
+                shelfHeight = 0;
+            }
+
+            xs[handle] = shelfX;
+            ys[handle] = shelfY;
+            widths[handle] = sprite.getWidth();
+            heights[handle] = sprite.getHeight();
+            handles.put(keys.get(handle), handle);
+
+            shelfX += sprite.getWidth() + PADDING;
+            shelfHeight = Math.max(shelfHeight, sprite.getHeight() + PADDING);
+        }
+
+        if (count == 0) {
+            image = null;
+            return;
+        }
+
+        image = ResourceManager.createCompatibleImage(atlasWidth, shelfY + shelfHeight, Transparency.TRANSLUCENT);
+        Graphics2D g = image.createGraphics();
+        for (int handle = 0; handle < count; handle++) {
+            g.drawImage(sprites.get(keys.get(handle)), xs[handle], ys[handle], null);
+        }
+        g.dispose();
+    }
+
+    /** Resolves a sprite name to its handle; meant for load time, not the draw path. */
+    public int getHandle(String key) {
+        Integer handle = handles.get(key);
+        return handle != null ? handle : NO_SPRITE;
+    }
+
+    public int getSpriteCount() {
+        return widths.length;
+    }
+
+    public int getWidth(int handle) {
+        return handle == NO_SPRITE ? 0 : widths[handle];
+    }
+
+    public int getHeight(int handle) {
+        return handle == NO_SPRITE ? 0 : heights[handle];
+    }
+
+    public BufferedImage getImage() {
+        return image;
+    }
+
+    public void draw(Graphics2D g, int handle, int x, int y) {
+        if (handle == NO_SPRITE) return;
+        drawRegion(g, handle, 0, 0, widths[handle], heights[handle], x, y);
+    }
+
+    /** Draws the part of a sprite starting at (sx, sy) in sprite coordinates. */
+    public void drawRegion(Graphics2D g, int handle, int sx, int sy, int width, int height, int x, int y) {
+        if (handle == NO_SPRITE) return;
+
+        int srcX = xs[handle] + sx;
+        int srcY = ys[handle] + sy;
+        g.drawImage(image, x, y, x + width, y + height, srcX, srcY, srcX + width, srcY + height, null);
+    }
+}
@@ -0,0 +1,104 @@
+import javax.imageio.ImageIO;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.awt.image.IndexColorModel;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Measures the cost of drawing sprites exactly as ImageIO returns them against
+ * the display-compatible copies {@link ResourceManager} now keeps, at the
+ * window's scale and at a fullscreen-like one. Uses the PNGs in ./images, or
+ * a generated palette sprite when they are missing.
+ *
+ * Usage: java SpriteBlitBenchmark [blitsPerRun] [scale]
+ */
+public class SpriteBlitBenchmark {
+    private static final int WARMUP_RUNS = 3;
+
+    public static void main(String[] args) throws IOException {
+        int blits = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+        double scale = args.length > 1 ? Double.parseDouble(args[1]) : 2.5;
+
+        List<BufferedImage> raw = loadSprites();
+        List<BufferedImage> converted = new ArrayList<>();
+        for (BufferedImage image : raw) {
+            converted.add(ResourceManager.toCompatibleImage(image));
+        }
+
+        int width = Level.getGridWidth() * Level.CELL_SIZE;
+        int height = Level.getGridHeight() * Level.CELL_SIZE;
+        BufferedImage target = ResourceManager.createCompatibleImage((int) (width * scale), (int) (height * scale),
+                                                                     Transparency.OPAQUE);
+
+        System.out.printf("%d sprites, %d blits per run%n", raw.size(), blits);
+        System.out.printf("%-10s %14s %14s%n", "scale", "raw ns/blit", "compat ns/blit");
+        for (double s : new double[] {1.0, scale}) {
+            double rawNanos = measure(target, raw, blits, s, width, height);
+            double convertedNanos = measure(target, converted, blits, s, width, height);
+            System.out.printf("%-10.2f %14.1f %14.1f%n", s, rawNanos, convertedNanos);
+        }
+    }
+
+    private static List<BufferedImage> loadSprites() throws IOException {
+        List<BufferedImage> sprites = new ArrayList<>();
+        File[] files = new File("./images/").listFiles((dir, name) -> name.endsWith(".png"));
+        if (files != null) {
+            for (File file : files) {
+                BufferedImage image = ImageIO.read(file);
+                if (image != null) {
+                    sprites.add(image);
+                }
+            }
+        }
+
+        if (sprites.isEmpty()) {
+            sprites.add(paletteSprite());
+        }
+        return sprites;
+    }
+
+    private static BufferedImage paletteSprite() {
+        byte[] reds = {0, (byte) 200, (byte) 120, (byte) 255};
+        byte[] greens = {0, (byte) 80, (byte) 120, (byte) 220};
+        byte[] blues = {0, (byte) 40, (byte) 120, (byte) 90};
+        IndexColorModel palette = new IndexColorModel(2, 4, reds, greens, blues, 0);
+        BufferedImage image = new BufferedImage(Level.CELL_SIZE, Level.CELL_SIZE,
+                                                BufferedImage.TYPE_BYTE_BINARY, palette);
+        for (int y = 0; y < image.getHeight(); y++) {
+            for (int x = 0; x < image.getWidth(); x++) {
+                image.setRGB(x, y, palette.getRGB((x / 4 + y / 4) % 4));
+            }
+        }
+        return image;
+    }
+
+    private static double measure(BufferedImage target, List<BufferedImage> sprites, int blits,
+                                  double scale, int width, int height) {
+        double best = Double.MAX_VALUE;
+
+        for (int run = 0; run <= WARMUP_RUNS; run++) {
+            Graphics2D g = target.createGraphics();
+            g.scale(scale, scale);
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION,
+                               RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR);
+
+            long start = System.nanoTime();
+            for (int i = 0; i < blits; i++) {
+                BufferedImage sprite = sprites.get(i % sprites.size());
+                int x = (i * 37) % (width - sprite.getWidth());
+                int y = (i * 91) % (height - sprite.getHeight());
+                g.drawImage(sprite, x, y, null);
+            }
+            long elapsed = System.nanoTime() - start;
+            g.dispose();
+
+            best = Math.min(best, (double) elapsed / blits);
+        }
+        return best;
+    }
+}
@@ -0,0 +1,115 @@
+import java.awt.Rectangle;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * Sort-and-sweep broad phase on the x axis. The sorted order is kept between
+ * frames, so objects that only moved a little need very few swaps and each
+ * frame costs close to O(n) plus the number of overlapping x intervals.
+ * Membership is tracked with a per-object frame stamp held in an
+ * {@code int[1]} created when the object joins, so syncing the member set
+ * allocates nothing for objects that stay.
+ */
+public class SweepAndPrune<T extends GameObject> {
+    private final Map<T, int[]> members = new IdentityHashMap<>();
+    private GameObject[] sorted = new GameObject[16];
+    private int count = 0;
+    private int frame = 0;
+    private int candidatePairCount = 0;
+
+    @SuppressWarnings("unchecked")
+    public void findOverlaps(List<? extends T> objects, BiConsumer<T, T> handler) {
+        sync(objects);
+        sortByMinX();
+
+        candidatePairCount = 0;
+
+        for (int i = 0; i < count; i++) {
+            T a = (T) sorted[i];
+            if (!a.isActive()) continue;
+
+            Rectangle boundsA = a.getBounds();
+            int maxX = boundsA.x + boundsA.width;
+
+            for (int j = i + 1; j < count; j++) {
+                T b = (T) sorted[j];
+                if (b.getBounds().x >= maxX) break;
+                if (!b.isActive()) continue;
+
+                candidatePairCount++;
+                if (a.intersects(b)) {
+                    handler.accept(a, b);
+                }
+            }
+        }
+    }
+
+    public int getCandidatePairCount() {
+        return candidatePairCount;
+    }
+
+    public int size() {
+        return count;
+    }
+
+    public void clear() {
+        for (int i = 0; i < count; i++) {
+            sorted[i] = null;
+        }
+        members.clear();
+        count = 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void sync(List<? extends T> objects) {
+        frame++;
+
+        for (int i = 0; i < objects.size(); i++) {
+            T object = objects.get(i);
+            if (object == null) continue;
+
+            int[] stamp = members.get(object);
+            if (stamp == null) {
+                stamp = new int[1];
+                members.put(object, stamp);
+                if (count == sorted.length) {
+                    GameObject[] grown = new GameObject[sorted.length * 2];
+                    System.arraycopy(sorted, 0, grown, 0, count);
+                    sorted = grown;
+                }
+                sorted[count++] = object;
+            }
+            stamp[0] = frame;
+        }
+
+        int kept = 0;
+        for (int i = 0; i < count; i++) {
+            T object = (T) sorted[i];
+            if (members.get(object)[0] == frame) {
+                sorted[kept++] = object;
+            } else {
+                members.remove(object);
+            }
+        }
+        for (int i = kept; i < count; i++) {
+            sorted[i] = null;
+        }
+        count = kept;
+    }
+
+    private void sortByMinX() {
+        for (int i = 1; i < count; i++) {
+            GameObject object = sorted[i];
+            int x = object.getBounds().x;
+            int j = i - 1;
+
+            while (j >= 0 && sorted[j].getBounds().x > x) {
+                sorted[j + 1] = sorted[j];
+                j--;
+            }
+            sorted[j + 1] = object;
+        }
+    }
+}
@@ -1,4 +1,4 @@
-import java.awt.*;
+import java.util.SplittableRandom;
 
 public class Tank extends GameObject {
     
@@ -7,9 +7,12 @@ public class Tank extends GameObject {
     private static final int MAX_POWER_LEVEL = 3;
     
     private ResourceManager resourceManager;
+    private final GameClock clock;
     private boolean player;
     private String tankType;
+    private final int[] spriteHandles;
     private int id;
+    private SplittableRandom random;
     
     private int health;
     private int maxHealth;
@@ -22,18 +25,22 @@ public class Tank extends GameObject {
     private long invulnerabilityEndTime = 0;
     
     private long lastShotTime;
+    private float capturedX = Float.NaN;
+    private float capturedY = Float.NaN;
 
     private boolean flashing = false;
     private boolean destroyedByGrenade = false;
     private int powerLevel = 0;
 
     
-    public Tank(float x, float y, boolean player, String tankType, ResourceManager resourceManager) {
+    public Tank(float x, float y, boolean player, String tankType, ResourceManager resourceManager, GameClock clock) {
         super(x, y, 32, 32);
         this.player = player;
         this.tankType = tankType;
         this.resourceManager = resourceManager;
+        this.clock = clock;
         this.speed = DEFAULT_SPEED;
+        this.spriteHandles = resolveSprites(resourceManager, player ? "tank_player_" : "enemy_" + tankType + "_");
         
         if (player) {
             this.maxHealth = 3;
@@ -46,7 +53,7 @@ public class Tank extends GameObject {
         }
         
         this.health = this.maxHealth;
-        this.lastShotTime = 0;
+        this.lastShotTime = Long.MIN_VALUE / 2;
         
         this.spawnX = x;
         this.spawnY = y;
@@ -104,6 +111,18 @@ public class Tank extends GameObject {
         return id;
     }
 
+    public void setRandom(SplittableRandom random) {
+        this.random = random;
+    }
+
+    /** This tank's own stream; tanks created outside a level get an unseeded one. */
+    public SplittableRandom getRandom() {
+        if (random == null) {
+            random = new SplittableRandom();
+        }
+        return random;
+    }
+
     public void setHealth(int health) {
         this.maxHealth = health;
         this.health = health;
@@ -113,45 +132,45 @@ public class Tank extends GameObject {
     public void update() {
         updateBounds();
         
-        if (invulnerable && System.currentTimeMillis() > invulnerabilityEndTime) {
+        if (invulnerable && clock.millis() > invulnerabilityEndTime) {
             invulnerable = false;
         }
     }
     
-     @Override
-    public void render(Graphics2D g) {
-        if (flashing && (System.currentTimeMillis() / 150) % 2 == 0) {
-            Composite originalComposite = g.getComposite();
-            g.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, 0.7f));
-            drawTank(g);
-            g.setComposite(originalComposite);
-        } else if (invulnerable && (System.currentTimeMillis() / 200) % 2 == 0) {
-            Composite originalComposite = g.getComposite();
-            g.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, 0.5f));
-            drawTank(g);
-            g.setComposite(originalComposite);
-        } else {
-            drawTank(g);
+    public void capture(WorldSnapshot snapshot, long currentTime) {
+        float currentX = x;
+        float currentY = y;
+        float fromX = Float.isNaN(capturedX) ? currentX : capturedX;
+        float fromY = Float.isNaN(capturedY) ? currentY : capturedY;
+        
+        snapshot.addMovingSprite(getSprite(), fromX, fromY, currentX, currentY, getRenderAlpha(currentTime));
+        capturedX = currentX;
+        capturedY = currentY;
+    }
+    
+    private float getRenderAlpha(long currentTime) {
+        if (flashing && (currentTime / 150) % 2 == 0) {
+            return 0.7f;
+        }
+        if (invulnerable && (currentTime / 200) % 2 == 0) {
+            return 0.5f;
         }
+        return 1.0f;
     }
     
-    private void drawTank(Graphics2D g) {
-        String imageKey = player ? "tank_player_" : "enemy_" + tankType + "_";
+    private int getSprite() {
+        return spriteHandles[direction.ordinal()];
+    }
+    
+    private static int[] resolveSprites(ResourceManager resourceManager, String prefix) {
+        Direction[] directions = Direction.values();
+        int[] handles = new int[directions.length];
         
-        switch (direction) {
-            case UP:
-                g.drawImage(resourceManager.getImage(imageKey + "up"), (int)x, (int)y, null);
-                break;
-            case DOWN:
-                g.drawImage(resourceManager.getImage(imageKey + "down"), (int)x, (int)y, null);
-                break;
-            case LEFT:
-                g.drawImage(resourceManager.getImage(imageKey + "left"), (int)x, (int)y, null);
-                break;
-            case RIGHT:
-                g.drawImage(resourceManager.getImage(imageKey + "right"), (int)x, (int)y, null);
-                break;
+        for (Direction dir : directions) {
+            handles[dir.ordinal()] = resourceManager == null ? SpriteAtlas.NO_SPRITE
+                    : resourceManager.getSpriteHandle(prefix + dir.name().toLowerCase());
         }
+        return handles;
     }
     
     public void move(Direction dir) {
@@ -175,16 +194,20 @@ public class Tank extends GameObject {
                 break;
         }
 
-    if (Level.isInPlayableArea(newX, newY) && 
-        Level.isInPlayableArea(newX + width - 1, newY) &&
-        Level.isInPlayableArea(newX, newY + height - 1) && 
-        Level.isInPlayableArea(newX + width - 1, newY + height - 1)) {
+    if (fitsPlayableArea(newX, newY)) {
         x = newX;
         y = newY;
         updateBounds();
     }
     }
     
+    protected boolean fitsPlayableArea(float newX, float newY) {
+        return Level.isInPlayableArea(newX, newY) && 
+               Level.isInPlayableArea(newX + width - 1, newY) &&
+               Level.isInPlayableArea(newX, newY + height - 1) && 
+               Level.isInPlayableArea(newX + width - 1, newY + height - 1);
+    }
+    
     public Direction getDirectionToTarget(float targetX, float targetY) {
         float dx = targetX - x;
         float dy = targetY - y;
@@ -196,49 +219,66 @@ public class Tank extends GameObject {
         }
     }
     
-    public Bullet shoot() {
-        if (frozen) return null;
+    public boolean shoot(BulletSystem bullets) {
+        if (!readyToShoot()) return false;
+
+        bullets.spawn(getMuzzleX(), getMuzzleY(), direction, player,
+                      hasFastBullets(), hasSteelPiercingBullets(), id);
+        return true;
+    }
 
-        long currentTime = System.currentTimeMillis();
+    private boolean readyToShoot() {
+        if (frozen) return false;
+
+        long currentTime = clock.millis();
         long cooldown = player ? 250 : 500;
         
         if (powerLevel == 0 && currentTime - lastShotTime < cooldown) {
-            return null;
+            return false;
         }
 
         if (powerLevel >= 1 && currentTime - lastShotTime < cooldown / 1.5) {
-            return null;
+            return false;
         }
         
         lastShotTime = currentTime;
-        
-        float bulletX = x;
-        float bulletY = y;
-        
+        return true;
+    }
+
+    private float getMuzzleX() {
         switch (direction) {
             case UP:
-                bulletX = x + width / 2 - 4;
-                bulletY = y - 8;
-                break;
             case DOWN:
-                bulletX = x + width / 2 - 4;
-                bulletY = y + height;
-                break;
+                return x + width / 2 - 4;
             case LEFT:
-                bulletX = x - 8;
-                bulletY = y + height / 2 - 4;
-                break;
+                return x - 8;
             case RIGHT:
-                bulletX = x + width;
-                bulletY = y + height / 2 - 4;
-                break;
+                return x + width;
+            default:
+                return x;
         }
+    }
 
-        boolean fastBullet = (powerLevel >= 1); 
-        boolean steelPiercing = (powerLevel >= 3); 
-        
-        return new Bullet(bulletX, bulletY, direction, player, resourceManager, 
-                        fastBullet, steelPiercing);
+    private float getMuzzleY() {
+        switch (direction) {
+            case UP:
+                return y - 8;
+            case DOWN:
+                return y + height;
+            case LEFT:
+            case RIGHT:
+                return y + height / 2 - 4;
+            default:
+                return y;
+        }
+    }
+
+    private boolean hasFastBullets() {
+        return powerLevel >= 1;
+    }
+
+    private boolean hasSteelPiercingBullets() {
+        return powerLevel >= 3;
     }
     
     public boolean isPlayer() {
@@ -274,21 +314,24 @@ public class Tank extends GameObject {
             health = 1;
             
             if (spawnX == 0 && spawnY == 0) {
-                x = Level.PLAYER_SPAWN_X;
-                y = Level.PLAYER_SPAWN_Y;
+                placeAt(Level.PLAYER_SPAWN_X, Level.PLAYER_SPAWN_Y, Direction.UP);
             } else {
-                x = spawnX;
-                y = spawnY;
+                placeAt(spawnX, spawnY, Direction.UP);
             }
             
-            direction = Direction.UP;
             setInvulnerable();
         }
     }
     
+    protected void placeAt(float newX, float newY, Direction dir) {
+        x = newX;
+        y = newY;
+        direction = dir;
+    }
+    
     public void setInvulnerable() {
         invulnerable = true;
-        invulnerabilityEndTime = System.currentTimeMillis() + INVULNERABILITY_DURATION;
+        invulnerabilityEndTime = clock.millis() + INVULNERABILITY_DURATION;
     }
     
     public boolean isInvulnerable() {
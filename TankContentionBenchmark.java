@@ -0,0 +1,116 @@
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Compares the packed-atomic {@link ThreadSafeTank} with the earlier
+ * lock-per-call version under contention: several threads move one shared
+ * tank and read its position pair as fast as they can.
+ *
+ * Usage: java TankContentionBenchmark [maxThreads] [millisPerRun]
+ */
+public class TankContentionBenchmark {
+    private static final int READS_PER_MOVE = 4;
+
+    /** The lock-based ThreadSafeTank as it was before the atomic state. */
+    static class LockedTank extends Tank {
+        private final ReentrantLock tankLock = new ReentrantLock();
+
+        LockedTank(float x, float y) {
+            super(x, y, false, "basic", null, new GameClock());
+        }
+
+        public void threadSafeMove(Direction dir) {
+            tankLock.lock();
+            try {
+                if (isActive()) {
+                    move(dir);
+                }
+            } finally {
+                tankLock.unlock();
+            }
+        }
+
+        public float getThreadSafeX() {
+            tankLock.lock();
+            try {
+                return getX();
+            } finally {
+                tankLock.unlock();
+            }
+        }
+
+        public float getThreadSafeY() {
+            tankLock.lock();
+            try {
+                return getY();
+            } finally {
+                tankLock.unlock();
+            }
+        }
+    }
+
+    private interface Workload {
+        void run(int step);
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        int maxThreads = args.length > 0 ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors();
+        long millis = args.length > 1 ? Long.parseLong(args[1]) : 1000;
+
+        System.out.printf("%-8s %16s %16s%n", "threads", "locked ops/s", "atomic ops/s");
+        for (int threads = 1; threads <= maxThreads; threads *= 2) {
+            LockedTank locked = new LockedTank(Level.PLAYER_SPAWN_X, Level.PLAYER_SPAWN_Y);
+            ThreadSafeTank atomic = new ThreadSafeTank(Level.PLAYER_SPAWN_X, Level.PLAYER_SPAWN_Y, false, "basic", null,
+                                                       new GameClock());
+
+            double lockedRate = measure(threads, millis, step -> {
+                locked.threadSafeMove(step % 2 == 0 ? GameObject.Direction.LEFT : GameObject.Direction.RIGHT);
+                for (int r = 0; r < READS_PER_MOVE; r++) {
+                    float sum = locked.getThreadSafeX() + locked.getThreadSafeY();
+                    if (sum < 0) throw new IllegalStateException();
+                }
+            });
+            double atomicRate = measure(threads, millis, step -> {
+                atomic.threadSafeMove(step % 2 == 0 ? GameObject.Direction.LEFT : GameObject.Direction.RIGHT);
+                for (int r = 0; r < READS_PER_MOVE; r++) {
+                    long state = atomic.getState();
+                    float sum = ThreadSafeTank.stateX(state) + ThreadSafeTank.stateY(state);
+                    if (sum < 0) throw new IllegalStateException();
+                }
+            });
+
+            System.out.printf("%-8d %16.0f %16.0f%n", threads, lockedRate, atomicRate);
+        }
+    }
+
+    private static double measure(int threads, long millis, Workload workload) throws InterruptedException {
+        LongAdder operations = new LongAdder();
+        CountDownLatch start = new CountDownLatch(1);
+        Thread[] workers = new Thread[threads];
+        long deadline = System.nanoTime() + millis * 1_000_000L;
+
+        for (int t = 0; t < threads; t++) {
+            workers[t] = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+
+                int step = 0;
+                while (System.nanoTime() < deadline) {
+                    workload.run(step++);
+                }
+                operations.add(step);
+            });
+            workers[t].start();
+        }
+
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        return operations.sum() * 1000.0 / millis;
+    }
+}
@@ -1,46 +1,137 @@
 // TankThreadManager.java
 import java.util.concurrent.*;
+import java.lang.reflect.Method;
 import java.util.List;
 import java.util.ArrayList;
 
 public class TankThreadManager {
-    private PlayerTankThread playerThread;
-    private ExecutorService enemyThreadPool;
-    private List<EnemyTankWorker> enemyWorkers;
+    /**
+     * Where tank behaviour loops run. PLATFORM gives the player its own thread
+     * and shares a small fixed pool between enemy workers, paced by sleeping.
+     * VIRTUAL gives every loop its own virtual thread, paced by the game tick.
+     * Chosen with {@code -Dbattlecity.tankThreads=platform|virtual}. The game
+     * itself only starts the player loop; enemies think on the game thread
+     * through {@link EnemyAiExecutor}. {@code TickGateBenchmark} measures
+     * the backends with thousands of loops.
+     */
+    public enum Backend {
+        PLATFORM, VIRTUAL;
+    
+        public static Backend selected() {
+            String name = System.getProperty("battlecity.tankThreads", "platform");
+            try {
+                return valueOf(name.trim().toUpperCase());
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unknown battlecity.tankThreads backend: " + name, e);
+            }
+        }
+    }
+    
+    private final Backend backend;
+    private PlayerTankThread playerLoop;
+    private Thread playerThread;
+    private final ExecutorService enemyThreadPool;
+    private final List<EnemyTankWorker> enemyWorkers = new ArrayList<>();
+    private final TickGate tickGate;
     private static final int MAX_ENEMY_THREADS = 4;
     
     public TankThreadManager() {
-        enemyThreadPool = Executors.newFixedThreadPool(MAX_ENEMY_THREADS);
-        enemyWorkers = new ArrayList<>();
+        this(Backend.PLATFORM);
+    }
+    
+    public TankThreadManager(Backend backend) {
+        this.backend = backend;
+        if (backend == Backend.VIRTUAL) {
+            enemyThreadPool = newVirtualThreadExecutor();
+            tickGate = new TickGate();
+        } else {
+            enemyThreadPool = Executors.newFixedThreadPool(MAX_ENEMY_THREADS);
+            tickGate = null;
+        }
+    }
+    
+    /**
+     * Fails instead of falling back to an unbounded pool of platform threads,
+     * which is exactly what the virtual backend is meant to avoid.
+     */
+    static ExecutorService newVirtualThreadExecutor() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException | UnsupportedOperationException e) {
+            throw new IllegalStateException("The virtual tank thread backend needs Java 21 or later, running "
+                                            + System.getProperty("java.version")
+                                            + "; use -Dbattlecity.tankThreads=platform", e);
+        }
+    }
+    
+    public Backend getBackend() {
+        return backend;
+    }
+    
+    public boolean usesTickGate() {
+        return tickGate != null;
     }
     
-    public void startPlayerThread(ThreadSafeTank playerTank, InputHandler inputHandler, 
-                                 CollisionManager collisionManager) {
-        playerThread = new PlayerTankThread(playerTank, inputHandler, collisionManager);
+    public void startPlayerThread(ThreadSafeTank playerTank, InputHandler inputHandler) {
+        playerLoop = new PlayerTankThread(playerTank, inputHandler);
+        if (tickGate != null) {
+            playerLoop.setTickGate(tickGate);
+            enemyThreadPool.submit(playerLoop);
+            return;
+        }
+        playerThread = new Thread(playerLoop, "PlayerTankThread");
         playerThread.start();
     }
     
-    public void startEnemyThread(ThreadSafeTank enemyTank, Eagle eagle, 
+    public void startEnemyThread(ThreadSafeTank enemyTank, Eagle eagle,
                                CollisionManager collisionManager) {
         EnemyTankWorker worker = new EnemyTankWorker(enemyTank, eagle, collisionManager);
+        if (tickGate != null) {
+            worker.setTickGate(tickGate);
+        }
         enemyWorkers.add(worker);
         enemyThreadPool.submit(worker);
     }
     
+    /**
+     * Called by the game thread once per tick. Fires the shots the enemy loops
+     * asked for since the last tick, so bullets are only ever spawned here,
+     * then releases the loops waiting on the tick gate.
+     */
+    public void tickEnemies() {
+        for (EnemyTankWorker worker : enemyWorkers) {
+            if (worker.takeShotRequest()) {
+                worker.fire();
+            }
+        }
+        enemyWorkers.removeIf(worker -> !worker.isRunning());
+    
+        if (tickGate != null) {
+            tickGate.advance();
+        }
+    }
+    
     public void shutdown() {
+        if (playerLoop != null) {
+            playerLoop.stopThread();
+        }
         if (playerThread != null) {
-            playerThread.stopThread();
             try {
-                playerThread.join(1000); 
+                playerThread.join(1000);
             } catch (InterruptedException e) {
                 Thread.currentThread().interrupt();
             }
         }
-        
+    
         for (EnemyTankWorker worker : enemyWorkers) {
             worker.stop();
         }
-        
+    
+        if (tickGate != null) {
+            tickGate.close();
+        }
+    
         enemyThreadPool.shutdown();
         try {
             if (!enemyThreadPool.awaitTermination(2, TimeUnit.SECONDS)) {
@@ -50,7 +141,7 @@ public class TankThreadManager {
             enemyThreadPool.shutdownNow();
             Thread.currentThread().interrupt();
         }
-        
+    
         enemyWorkers.clear();
     }
 }
\ No newline at end of file
@@ -0,0 +1,127 @@
+import java.awt.AlphaComposite;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+
+/**
+ * Render-thread cache of the terrain as two offscreen images: an opaque
+ * ground layer holding the background, the border and every tile except
+ * trees, and a transparent tree overlay. Drawing the terrain is then two
+ * {@code drawImage} calls per frame. When a new terrain snapshot arrives only
+ * the cells in its change log after the version last drawn are repainted
+ * into the layers, so the cost follows the number of changes rather than the
+ * size of the map; a different map or size, or a log that no longer reaches
+ * back far enough, redraws everything.
+ * The layers keep their Graphics for their whole life, so an incremental
+ * update allocates nothing.
+ */
+public class TerrainLayers {
+    private BufferedImage ground;
+    private BufferedImage trees;
+    private Graphics2D groundGraphics;
+    private Graphics2D treeGraphics;
+    private int mapId = -1;
+    private int version;
+    private int lastRedrawnCells;
+
+    public void update(TileMap terrain) {
+        int width = terrain.getColumns() * terrain.getCellSize();
+        int height = terrain.getRows() * terrain.getCellSize();
+
+        if (ground == null || ground.getWidth() != width || ground.getHeight() != height) {
+            if (ground != null) {
+                groundGraphics.dispose();
+                treeGraphics.dispose();
+            }
+            ground = ResourceManager.createCompatibleImage(width, height, Transparency.OPAQUE);
+            trees = ResourceManager.createCompatibleImage(width, height, Transparency.TRANSLUCENT);
+            groundGraphics = ground.createGraphics();
+            treeGraphics = trees.createGraphics();
+            mapId = -1;
+        }
+
+        if (terrain.getMapId() != mapId || !terrain.isLoggedSince(version)) {
+            redrawAll(terrain);
+        } else if (terrain.getVersion() != version) {
+            redrawChanged(terrain);
+        } else {
+            lastRedrawnCells = 0;
+        }
+
+        mapId = terrain.getMapId();
+        version = terrain.getVersion();
+    }
+
+    public void renderGround(Graphics2D g) {
+        if (ground != null) {
+            g.drawImage(ground, 0, 0, null);
+        }
+    }
+
+    public void renderTrees(Graphics2D g) {
+        if (trees != null) {
+            g.drawImage(trees, 0, 0, null);
+        }
+    }
+
+    /** Cells repainted by the last {@link #update}; zero on an unchanged frame. */
+    public int getLastRedrawnCells() {
+        return lastRedrawnCells;
+    }
+
+    private void redrawAll(TileMap terrain) {
+        groundGraphics.setColor(Color.BLACK);
+        groundGraphics.fillRect(0, 0, ground.getWidth(), ground.getHeight());
+        Level.drawBoundaries(groundGraphics);
+        terrain.renderGround(groundGraphics);
+
+        treeGraphics.setComposite(AlphaComposite.Clear);
+        treeGraphics.fillRect(0, 0, trees.getWidth(), trees.getHeight());
+        treeGraphics.setComposite(AlphaComposite.SrcOver);
+        terrain.renderTrees(treeGraphics);
+
+        lastRedrawnCells = terrain.getColumns() * terrain.getRows();
+    }
+
+    /**
+     * Repaints the cells logged after the last drawn version. A cell changed
+     * several times is repainted once per change, which is still bounded by
+     * the size of the log.
+     */
+    private void redrawChanged(TileMap terrain) {
+        byte treeCode = TileMap.code(Wall.WallType.TREES);
+        int cellSize = terrain.getCellSize();
+        int columns = terrain.getColumns();
+        int playableStart = Level.getPlayableAreaStart();
+        int playableEnd = playableStart + Level.getPlayableAreaSize();
+        int redrawn = 0;
+
+        for (int v = version + 1; v <= terrain.getVersion(); v++) {
+            int cell = terrain.changedCell(v);
+            int column = cell % columns;
+            int row = cell / columns;
+            int x = column * cellSize;
+            int y = row * cellSize;
+            boolean isTree = terrain.tileAt(column, row) == treeCode;
+
+            boolean playable = column >= playableStart && column < playableEnd
+                               && row >= playableStart && row < playableEnd;
+            groundGraphics.setColor(playable ? Color.BLACK : Color.DARK_GRAY);
+            groundGraphics.fillRect(x, y, cellSize, cellSize);
+            if (!isTree) {
+                terrain.renderTile(groundGraphics, column, row);
+            }
+
+            treeGraphics.setComposite(AlphaComposite.Clear);
+            treeGraphics.fillRect(x, y, cellSize, cellSize);
+            treeGraphics.setComposite(AlphaComposite.SrcOver);
+            if (isTree) {
+                terrain.renderTile(treeGraphics, column, row);
+            }
+            redrawn++;
+        }
+
+        lastRedrawnCells = redrawn;
+    }
+}
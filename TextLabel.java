@@ -0,0 +1,86 @@
+import java.awt.AlphaComposite;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+
+/**
+ * A line of HUD text pre-rendered into an image. A label is either fixed text
+ * or a prefix, an int value and a suffix; the string is only built, measured
+ * and drawn again when the value actually changes, so drawing an unchanged
+ * label every frame is a single blit with no allocation.
+ */
+public class TextLabel {
+    private final Font font;
+    private final Color color;
+    private final String prefix;
+    private final String suffix;
+
+    private BufferedImage image;
+    private int ascent;
+    private int value;
+
+    public TextLabel(Font font, Color color, String text) {
+        this(font, color, text, null);
+        render(text);
+    }
+
+    public TextLabel(Font font, Color color, String prefix, String suffix) {
+        this.font = font;
+        this.color = color;
+        this.prefix = prefix;
+        this.suffix = suffix;
+    }
+
+    public void setValue(int value) {
+        if (image != null && value == this.value) return;
+
+        this.value = value;
+        render(suffix == null ? prefix + value : prefix + value + suffix);
+    }
+
+    public int getWidth() {
+        return image == null ? 0 : image.getWidth();
+    }
+
+    /** Draws the label with its baseline at {@code baselineY}, like drawString. */
+    public void draw(Graphics2D g, int x, int baselineY) {
+        if (image != null) {
+            g.drawImage(image, x, baselineY - ascent, null);
+        }
+    }
+
+    public void drawCentered(Graphics2D g, int centerX, int baselineY) {
+        draw(g, centerX - getWidth() / 2, baselineY);
+    }
+
+    private void render(String text) {
+        FontMetrics metrics = measure();
+        int width = Math.max(1, metrics.stringWidth(text));
+        int height = Math.max(1, metrics.getAscent() + metrics.getDescent());
+
+        if (image == null || image.getWidth() != width || image.getHeight() != height) {
+            image = ResourceManager.createCompatibleImage(width, height, Transparency.TRANSLUCENT);
+        }
+        ascent = metrics.getAscent();
+
+        Graphics2D g = image.createGraphics();
+        g.setComposite(AlphaComposite.Clear);
+        g.fillRect(0, 0, width, height);
+        g.setComposite(AlphaComposite.SrcOver);
+        g.setFont(font);
+        g.setColor(color);
+        g.drawString(text, 0, ascent);
+        g.dispose();
+    }
+
+    private FontMetrics measure() {
+        BufferedImage scratch = image != null ? image : new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = scratch.createGraphics();
+        FontMetrics metrics = g.getFontMetrics(font);
+        g.dispose();
+        return metrics;
+    }
+}
@@ -1,44 +1,23 @@
-// ThreadSafeCollisionManager.java
-import java.util.concurrent.ConcurrentLinkedQueue;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
-import java.awt.Graphics2D;
-
-public class ThreadSafeCollisionManager extends CollisionManager {
-    private final ReentrantReadWriteLock rwLock = new ReentrantReadWriteLock();
-    private final ConcurrentLinkedQueue<Bullet> bulletQueue = new ConcurrentLinkedQueue<>();
-    
-    @Override
-    public void addBullet(Bullet bullet) {
-        if (bullet != null) {
-            bulletQueue.offer(bullet);
-        }
-    }
-    
-    @Override
-    public void update() {
-        rwLock.writeLock().lock();
-        try {
-            while (!bulletQueue.isEmpty()) {
-                Bullet bullet = bulletQueue.poll();
-                if (bullet != null) {
-                    super.addBullet(bullet);
-                }
-            }
-            
-            super.update();
-            
-        } finally {
-            rwLock.writeLock().unlock();
-        }
-    }
-    
-    @Override
-    public void render(Graphics2D g) {
-        rwLock.readLock().lock();
-        try {
-            super.render(g);
-        } finally {
-            rwLock.readLock().unlock();
-        }
-    }
-}
\ No newline at end of file
+// ThreadSafeCollisionManager.java
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+public class ThreadSafeCollisionManager extends CollisionManager {
+    private final ConcurrentLinkedQueue<Tank> shotQueue = new ConcurrentLinkedQueue<>();
+    
+    @Override
+    public boolean fire(Tank tank) {
+        if (tank == null) return false;
+        shotQueue.offer(tank);
+        return true;
+    }
+    
+    @Override
+    public void update() {
+        Tank tank;
+        while ((tank = shotQueue.poll()) != null) {
+            super.fire(tank);
+        }
+        
+        super.update();
+    }
+}
@@ -1,53 +1,174 @@
 // ThreadSafeTank.java
-import java.util.concurrent.locks.ReentrantLock;
+import java.awt.Rectangle;
+import java.util.concurrent.atomic.AtomicLong;
 
+/**
+ * Tank that behaviour threads may drive concurrently without locks. Position
+ * and direction live in one {@link AtomicLong}: x and y as signed 28-bit
+ * fixed-point values with 8 fractional bits, direction in the bits above.
+ * Moves are compare-and-set loops, and the getters decode a single read, so
+ * any thread sees a consistent position pair. The inherited fields are a
+ * mirror for the code in {@link Tank} that reads them directly; only the game
+ * thread writes them, from {@link #update()}, the setters and
+ * {@link #getBounds()}.
+ */
 public class ThreadSafeTank extends Tank {
-    private final ReentrantLock tankLock = new ReentrantLock();
+    private static final int FRACTION_BITS = 8;
+    private static final float FIXED_ONE = 1 << FRACTION_BITS;
+    private static final int COORD_BITS = 28;
+    private static final long COORD_MASK = (1L << COORD_BITS) - 1;
+    private static final Direction[] DIRECTIONS = Direction.values();
+    
+    private final AtomicLong state;
     private volatile boolean shouldStop = false;
     
-    public ThreadSafeTank(float x, float y, boolean player, String tankType, ResourceManager resourceManager) {
-        super(x, y, player, tankType, resourceManager);
+    public ThreadSafeTank(float x, float y, boolean player, String tankType, ResourceManager resourceManager,
+                          GameClock clock) {
+        super(x, y, player, tankType, resourceManager, clock);
+        state = new AtomicLong(pack(x, y, direction));
+        syncFields();
     }
     
     public void threadSafeMove(Direction dir) {
-        tankLock.lock();
-        try {
-            if (!shouldStop && isActive()) {
-                move(dir);
+        if (shouldStop || !isActive()) return;
+        
+        long current;
+        long next;
+        do {
+            current = state.get();
+            float newX = stateX(current);
+            float newY = stateY(current);
+            
+            switch (dir) {
+                case UP:
+                    newY -= getSpeed();
+                    break;
+                case DOWN:
+                    newY += getSpeed();
+                    break;
+                case LEFT:
+                    newX -= getSpeed();
+                    break;
+                case RIGHT:
+                    newX += getSpeed();
+                    break;
+            }
+            
+            if (!fitsPlayableArea(newX, newY)) {
+                newX = stateX(current);
+                newY = stateY(current);
             }
-        } finally {
-            tankLock.unlock();
-        }
+            next = pack(newX, newY, dir);
+        } while (!state.compareAndSet(current, next));
     }
     
-    public Bullet threadSafeShoot() {
-        tankLock.lock();
-        try {
-            if (!shouldStop && isActive()) {
-                return shoot();
-            }
-            return null;
-        } finally {
-            tankLock.unlock();
-        }
+    @Override
+    public void move(Direction dir) {
+        threadSafeMove(dir);
+    }
+    
+    @Override
+    public void setX(float newX) {
+        long current;
+        do {
+            current = state.get();
+        } while (!state.compareAndSet(current, pack(newX, stateY(current), stateDirection(current))));
+        syncFields();
+    }
+    
+    @Override
+    public void setY(float newY) {
+        long current;
+        do {
+            current = state.get();
+        } while (!state.compareAndSet(current, pack(stateX(current), newY, stateDirection(current))));
+        syncFields();
+    }
+    
+    @Override
+    public void setDirection(Direction dir) {
+        long current;
+        do {
+            current = state.get();
+        } while (!state.compareAndSet(current, pack(stateX(current), stateY(current), dir)));
+        syncFields();
+    }
+    
+    @Override
+    protected void placeAt(float newX, float newY, Direction dir) {
+        state.set(pack(newX, newY, dir));
+        syncFields();
+    }
+    
+    @Override
+    public void update() {
+        syncFields();
+        super.update();
+    }
+    
+    @Override
+    public float getX() {
+        return stateX(state.get());
+    }
+    
+    @Override
+    public float getY() {
+        return stateY(state.get());
+    }
+    
+    @Override
+    public Direction getDirection() {
+        return stateDirection(state.get());
+    }
+    
+    @Override
+    public Rectangle getBounds() {
+        long current = state.get();
+        bounds.x = (int)stateX(current);
+        bounds.y = (int)stateY(current);
+        return bounds;
     }
     
     public float getThreadSafeX() {
-        tankLock.lock();
-        try {
-            return getX();
-        } finally {
-            tankLock.unlock();
-        }
+        return stateX(state.get());
     }
     
     public float getThreadSafeY() {
-        tankLock.lock();
-        try {
-            return getY();
-        } finally {
-            tankLock.unlock();
-        }
+        return stateY(state.get());
+    }
+    
+    /**
+     * Position and direction as one packed word; decode with
+     * {@link #stateX}, {@link #stateY} and {@link #stateDirection}.
+     */
+    public long getState() {
+        return state.get();
+    }
+    
+    public static float stateX(long packed) {
+        return (packed << (64 - COORD_BITS) >> (64 - COORD_BITS)) / FIXED_ONE;
+    }
+    
+    public static float stateY(long packed) {
+        return (packed << (64 - 2 * COORD_BITS) >> (64 - COORD_BITS)) / FIXED_ONE;
+    }
+    
+    public static Direction stateDirection(long packed) {
+        return DIRECTIONS[(int)(packed >>> (2 * COORD_BITS)) & 3];
+    }
+    
+    private static long pack(float x, float y, Direction dir) {
+        return (Math.round(x * FIXED_ONE) & COORD_MASK)
+                | ((Math.round(y * FIXED_ONE) & COORD_MASK) << COORD_BITS)
+                | ((long)dir.ordinal() << (2 * COORD_BITS));
+    }
+    
+    private void syncFields() {
+        long current = state.get();
+        x = stateX(current);
+        y = stateY(current);
+        direction = stateDirection(current);
+        updateBounds();
     }
     
     public void stopThread() {
@@ -0,0 +1,61 @@
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Lets blocking behaviour loops wait for the next game tick instead of
+ * sleeping for a fixed time. The owner calls {@link #advance()} once per
+ * simulation tick. Waiting uses a {@link ReentrantLock} condition rather than
+ * a monitor, so virtual threads parked here release their carrier thread.
+ */
+public class TickGate {
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition advanced = lock.newCondition();
+    private volatile long tick = 0;
+    private volatile boolean closed = false;
+
+    public void advance() {
+        lock.lock();
+        try {
+            tick++;
+            advanced.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Blocks until the tick is past {@code seenTick} or the gate is closed,
+     * and returns the current tick. Ticks missed by a slow caller are skipped.
+     */
+    public long awaitAfter(long seenTick) throws InterruptedException {
+        if (tick > seenTick || closed) return tick;
+
+        lock.lock();
+        try {
+            while (tick <= seenTick && !closed) {
+                advanced.await();
+            }
+            return tick;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void close() {
+        lock.lock();
+        try {
+            closed = true;
+            advanced.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    public long getTick() {
+        return tick;
+    }
+}
@@ -0,0 +1,103 @@
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs thousands of behaviour loops paced by a {@link TickGate}, each doing a
+ * tank-sized think-step per tick, on the backend picked with
+ * {@code -Dbattlecity.tankThreads}. Every tick the main thread advances the
+ * gate and waits until all loops have stepped, and reports how long that
+ * took along with how many platform threads carried the loops. The platform
+ * backend needs one thread per blocked loop; the virtual one (Java 21 or
+ * later) parks the loops and runs them on a few carrier threads.
+ *
+ * Usage: java [-Dbattlecity.tankThreads=platform|virtual] TickGateBenchmark [loops] [ticks]
+ */
+public class TickGateBenchmark {
+    private static final int WARMUP_TICKS = 100;
+
+    private static final TickGate gate = new TickGate();
+    private static volatile CountDownLatch stepped;
+
+    public static void main(String[] args) throws InterruptedException {
+        int loops = args.length > 0 ? Integer.parseInt(args[0]) : 5_000;
+        int ticks = args.length > 1 ? Integer.parseInt(args[1]) : 600;
+        TankThreadManager.Backend backend = TankThreadManager.Backend.selected();
+
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        int baseThreads = threads.getThreadCount();
+        threads.resetPeakThreadCount();
+
+        ExecutorService executor = backend == TankThreadManager.Backend.VIRTUAL
+                ? TankThreadManager.newVirtualThreadExecutor()
+                : Executors.newFixedThreadPool(loops);
+
+        CountDownLatch started = new CountDownLatch(loops);
+        SplittableRandom seeds = new SplittableRandom(1);
+        for (int i = 0; i < loops; i++) {
+            SplittableRandom random = seeds.split();
+            executor.execute(() -> runLoop(random, started));
+        }
+        started.await();
+
+        long maxNanos = 0;
+        long totalNanos = 0;
+        for (int tick = 0; tick < WARMUP_TICKS + ticks; tick++) {
+            long start = System.nanoTime();
+            step(loops);
+            long elapsed = System.nanoTime() - start;
+
+            if (tick >= WARMUP_TICKS) {
+                totalNanos += elapsed;
+                maxNanos = Math.max(maxNanos, elapsed);
+            }
+        }
+        int carriers = threads.getPeakThreadCount() - baseThreads;
+
+        gate.close();
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+
+        System.out.printf("Backend: %s, %d loops, %d ticks on Java %s%n",
+                          backend.name().toLowerCase(), loops, ticks, System.getProperty("java.version"));
+        System.out.printf("Carrier threads: %d%n", carriers);
+        System.out.printf("Tick: %.1f us avg, %.1f us max (%.1f ns per loop)%n",
+                          totalNanos / 1e3 / ticks, maxNanos / 1e3, (double)totalNanos / ticks / loops);
+    }
+
+    private static void step(int loops) throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(loops);
+        stepped = latch;
+        gate.advance();
+        latch.await();
+    }
+
+    private static void runLoop(SplittableRandom random, CountDownLatch started) {
+        float x = random.nextInt(416);
+        float y = random.nextInt(416);
+        GameObject.Direction[] directions = GameObject.Direction.values();
+        long seen = gate.getTick();
+        started.countDown();
+
+        try {
+            while (true) {
+                seen = gate.awaitAfter(seen);
+                if (gate.isClosed()) return;
+
+                switch (directions[random.nextInt(directions.length)]) {
+                    case UP:    y = Math.max(0, y - 1); break;
+                    case DOWN:  y = Math.min(416, y + 1); break;
+                    case LEFT:  x = Math.max(0, x - 1); break;
+                    case RIGHT: x = Math.min(416, x + 1); break;
+                }
+                stepped.countDown();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
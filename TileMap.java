@@ -0,0 +1,381 @@
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Compact terrain store: one byte of tile type and one {@code long} of
+ * destruction state per grid cell. The long is an 8x8 bitmask of sub-blocks,
+ * bit {@code row * 8 + column}, so bricks can be chipped away piece by piece
+ * while collision stays a couple of bit operations per tile. Cell queries are
+ * O(1) array reads, so the map doubles as the spatial index for wall
+ * collisions. Every cell change bumps the version and writes
+ * the cell into a ring-buffer change log, so a renderer that remembers the
+ * version it last drew can walk just the changes since, without scanning the
+ * grid. The log holds at least one entry per cell; falling further behind
+ * than that means redrawing everything, which costs the same anyway.
+ */
+public class TileMap {
+    public static final byte EMPTY = 0;
+
+    public static final int SUB_BLOCKS = 8;
+    public static final long FULL = -1L;
+    private static final long SUB_ROW = 0xFFL;
+    private static final Wall.WallType[] TYPES = Wall.WallType.values();
+    private static final AtomicInteger nextMapId = new AtomicInteger();
+
+    private final int columns;
+    private final int rows;
+    private final int cellSize;
+    private final byte[] tiles;
+    private final int subBlockSize;
+    private final long[] masks;
+    private int[] sprites;
+    private SpriteAtlas atlas;
+    private final int[] changeLog;
+    private int mapId;
+    private int version = 0;
+
+    public TileMap(int columns, int rows, int cellSize) {
+        this.columns = columns;
+        this.rows = rows;
+        this.cellSize = cellSize;
+        this.tiles = new byte[columns * rows];
+        this.subBlockSize = cellSize / SUB_BLOCKS;
+        this.masks = new long[columns * rows];
+        this.sprites = new int[TYPES.length + 1];
+        Arrays.fill(sprites, SpriteAtlas.NO_SPRITE);
+        this.changeLog = new int[Integer.highestOneBit(Math.max(1, columns * rows - 1)) << 1];
+        this.mapId = nextMapId.incrementAndGet();
+    }
+
+    private TileMap(TileMap source) {
+        this.columns = source.columns;
+        this.rows = source.rows;
+        this.cellSize = source.cellSize;
+        this.tiles = source.tiles.clone();
+        this.subBlockSize = source.subBlockSize;
+        this.masks = source.masks.clone();
+        this.sprites = source.sprites;
+        this.atlas = source.atlas;
+        this.changeLog = source.changeLog.clone();
+        this.mapId = source.mapId;
+        this.version = source.version;
+    }
+
+    /**
+     * Returns a detached copy of the terrain for rendering, written into
+     * {@code copy} when it is an earlier copy of a map the same size. A copy
+     * that is already current is returned untouched.
+     */
+    public TileMap snapshot(TileMap copy) {
+        if (copy == null || copy.columns != columns || copy.rows != rows) {
+            return new TileMap(this);
+        }
+        if (copy.mapId == mapId && copy.version == version && copy.sprites == sprites) {
+            return copy;
+        }
+
+        System.arraycopy(tiles, 0, copy.tiles, 0, tiles.length);
+        System.arraycopy(masks, 0, copy.masks, 0, masks.length);
+        System.arraycopy(changeLog, 0, copy.changeLog, 0, changeLog.length);
+        copy.sprites = sprites;
+        copy.atlas = atlas;
+        copy.mapId = mapId;
+        copy.version = version;
+        return copy;
+    }
+
+    public int getVersion() {
+        return version;
+    }
+
+    /** Identifies the map a snapshot was copied from; copies share their source's id. */
+    public int getMapId() {
+        return mapId;
+    }
+
+    /** True if every change made after {@code version} is still in the change log. */
+    public boolean isLoggedSince(int version) {
+        return this.version - version <= changeLog.length;
+    }
+
+    /**
+     * Index ({@code row * columns + column}) of the cell changed by the given
+     * version. Valid for versions covered by {@link #isLoggedSince}.
+     */
+    public int changedCell(int version) {
+        return changeLog[version & (changeLog.length - 1)];
+    }
+
+    public void setResourceManager(ResourceManager resourceManager) {
+        if (resourceManager == null) return;
+
+        atlas = resourceManager.getAtlas();
+        for (Wall.WallType type : TYPES) {
+            sprites[code(type)] = resourceManager.getSpriteHandle(type.getImageKey());
+        }
+    }
+
+    public int getColumns() { return columns; }
+    public int getRows() { return rows; }
+    public int getCellSize() { return cellSize; }
+
+    public boolean inBounds(int column, int row) {
+        return column >= 0 && column < columns && row >= 0 && row < rows;
+    }
+
+    /**
+     * Returns the tile code of an intact tile, or {@link #EMPTY} for empty,
+     * destroyed and out-of-range cells.
+     */
+    public byte tileAt(int column, int row) {
+        if (!inBounds(column, row)) return EMPTY;
+        int cell = row * columns + column;
+        return masks[cell] != 0 ? tiles[cell] : EMPTY;
+    }
+
+    public long maskAt(int column, int row) {
+        if (!inBounds(column, row)) return 0;
+        return masks[row * columns + column];
+    }
+
+    public int getSubBlockSize() {
+        return subBlockSize;
+    }
+
+    public Wall.WallType typeAt(int column, int row) {
+        return typeOf(tileAt(column, row));
+    }
+
+    public boolean isIntact(int column, int row) {
+        return tileAt(column, row) != EMPTY;
+    }
+
+    public boolean blocksMovement(int column, int row) {
+        Wall.WallType type = typeAt(column, row);
+        return type != null && type.blocksMovement();
+    }
+
+    public boolean blocksBullet(int column, int row) {
+        Wall.WallType type = typeAt(column, row);
+        return type != null && type.blocksBullet();
+    }
+
+    public void setTile(int column, int row, Wall.WallType type) {
+        if (!inBounds(column, row)) return;
+        int cell = row * columns + column;
+        tiles[cell] = code(type);
+        masks[cell] = type == null ? 0 : FULL;
+        touch(cell);
+    }
+
+    public void clearTile(int column, int row) {
+        setTile(column, row, null);
+    }
+
+    public void destroy(int column, int row) {
+        if (!inBounds(column, row)) return;
+        masks[row * columns + column] = 0;
+        touch(row * columns + column);
+    }
+
+    /**
+     * Clears the sub-blocks of a cell covered by the given box and returns true
+     * if that left the cell empty.
+     */
+    public boolean chip(int column, int row, float x, float y, int width, int height) {
+        if (!inBounds(column, row)) return false;
+
+        int cell = row * columns + column;
+        if (masks[cell] == 0) return false;
+
+        masks[cell] &= ~overlapMask(column, row, x, y, width, height);
+        touch(cell);
+        return masks[cell] == 0;
+    }
+
+    /**
+     * Returns the sub-block bits of a cell that a box overlaps, using the same
+     * strict-overlap rule as {@link Rectangle#intersects}.
+     */
+    public long overlapMask(int column, int row, float x, float y, float width, float height) {
+        float localX = x - column * cellSize;
+        float localY = y - row * cellSize;
+
+        if (localX >= cellSize || localY >= cellSize || localX + width <= 0 || localY + height <= 0) {
+            return 0;
+        }
+
+        int firstColumn = Math.max(0, (int)Math.floor(localX / subBlockSize));
+        int firstRow = Math.max(0, (int)Math.floor(localY / subBlockSize));
+        int lastColumn = Math.min(SUB_BLOCKS - 1, (int)Math.ceil((localX + width) / subBlockSize) - 1);
+        int lastRow = Math.min(SUB_BLOCKS - 1, (int)Math.ceil((localY + height) / subBlockSize) - 1);
+
+        long rowBits = (SUB_ROW >>> (SUB_BLOCKS - 1 - lastColumn + firstColumn)) << firstColumn;
+        long mask = 0;
+        for (int subRow = firstRow; subRow <= lastRow; subRow++) {
+            mask |= rowBits << (subRow * SUB_BLOCKS);
+        }
+        return mask;
+    }
+
+    public boolean overlapsSolid(int column, int row, Rectangle bounds) {
+        return (maskAt(column, row) & overlapMask(column, row, bounds.x, bounds.y, bounds.width, bounds.height)) != 0;
+    }
+
+    /**
+     * Earliest time in [0, 1] at which a box moving by (dx, dy) touches a solid
+     * sub-block of the given cell, or {@link SweptAabb#NO_HIT}.
+     */
+    public float sweep(int column, int row, float x, float y, int width, int height, float dx, float dy) {
+        long mask = maskAt(column, row);
+        if (mask == 0) return SweptAabb.NO_HIT;
+
+        int cellX = column * cellSize;
+        int cellY = row * cellSize;
+
+        if (mask == FULL) {
+            return SweptAabb.hitTime(x, y, width, height, dx, dy, cellX, cellY, cellSize, cellSize);
+        }
+
+        mask &= overlapMask(column, row, Math.min(x, x + dx), Math.min(y, y + dy),
+                            width + Math.abs(dx), height + Math.abs(dy));
+
+        float earliest = SweptAabb.NO_HIT;
+        while (mask != 0) {
+            int bit = Long.numberOfTrailingZeros(mask);
+            mask &= mask - 1;
+
+            float time = SweptAabb.hitTime(x, y, width, height, dx, dy,
+                                           cellX + (bit % SUB_BLOCKS) * subBlockSize,
+                                           cellY + (bit / SUB_BLOCKS) * subBlockSize,
+                                           subBlockSize, subBlockSize);
+            if (time < earliest) {
+                earliest = time;
+            }
+        }
+        return earliest;
+    }
+
+    /**
+     * Copies the raw type and state of a square block of cells so it can later
+     * be put back with {@link #restoreRegion}.
+     */
+    public long[] saveRegion(int centerColumn, int centerRow, int radius) {
+        int side = radius * 2 + 1;
+        long[] saved = new long[side * side * 2];
+        int i = 0;
+
+        for (int row = centerRow - radius; row <= centerRow + radius; row++) {
+            for (int column = centerColumn - radius; column <= centerColumn + radius; column++) {
+                if (inBounds(column, row)) {
+                    int cell = row * columns + column;
+                    saved[i] = tiles[cell];
+                    saved[i + 1] = masks[cell];
+                }
+                i += 2;
+            }
+        }
+        return saved;
+    }
+
+    public void restoreRegion(int centerColumn, int centerRow, int radius, long[] saved) {
+        int i = 0;
+
+        for (int row = centerRow - radius; row <= centerRow + radius; row++) {
+            for (int column = centerColumn - radius; column <= centerColumn + radius; column++) {
+                if (inBounds(column, row)) {
+                    int cell = row * columns + column;
+                    tiles[cell] = (byte)saved[i];
+                    masks[cell] = saved[i + 1];
+                    touch(cell);
+                }
+                i += 2;
+            }
+        }
+    }
+
+    private void touch(int cell) {
+        version++;
+        changeLog[version & (changeLog.length - 1)] = cell;
+    }
+
+    public int toColumn(float x) {
+        return (int)Math.floor(x / cellSize);
+    }
+
+    public int toRow(float y) {
+        return (int)Math.floor(y / cellSize);
+    }
+
+    public int firstColumn(Rectangle bounds) {
+        return Math.max(0, toColumn(bounds.x));
+    }
+
+    public int lastColumn(Rectangle bounds) {
+        return Math.min(columns - 1, toColumn(bounds.x + bounds.width - 1));
+    }
+
+    public int firstRow(Rectangle bounds) {
+        return Math.max(0, toRow(bounds.y));
+    }
+
+    public int lastRow(Rectangle bounds) {
+        return Math.min(rows - 1, toRow(bounds.y + bounds.height - 1));
+    }
+
+    public void renderTile(Graphics2D g, int column, int row) {
+        int sprite = sprites[tileAt(column, row)];
+        if (sprite == SpriteAtlas.NO_SPRITE) return;
+
+        int cellX = column * cellSize;
+        int cellY = row * cellSize;
+        long mask = maskAt(column, row);
+
+        if (mask == FULL) {
+            atlas.draw(g, sprite, cellX, cellY);
+            return;
+        }
+
+        while (mask != 0) {
+            int bit = Long.numberOfTrailingZeros(mask);
+            mask &= mask - 1;
+
+            int sx = (bit % SUB_BLOCKS) * subBlockSize;
+            int sy = (bit / SUB_BLOCKS) * subBlockSize;
+            atlas.drawRegion(g, sprite, sx, sy, subBlockSize, subBlockSize, cellX + sx, cellY + sy);
+        }
+    }
+
+    public void renderGround(Graphics2D g) {
+        byte trees = code(Wall.WallType.TREES);
+        for (int row = 0; row < rows; row++) {
+            for (int column = 0; column < columns; column++) {
+                byte tile = tileAt(column, row);
+                if (tile != EMPTY && tile != trees) {
+                    renderTile(g, column, row);
+                }
+            }
+        }
+    }
+
+    public void renderTrees(Graphics2D g) {
+        byte trees = code(Wall.WallType.TREES);
+        for (int row = 0; row < rows; row++) {
+            for (int column = 0; column < columns; column++) {
+                if (tileAt(column, row) == trees) {
+                    renderTile(g, column, row);
+                }
+            }
+        }
+    }
+
+    public static byte code(Wall.WallType type) {
+        return type == null ? EMPTY : (byte)(type.ordinal() + 1);
+    }
+
+    public static Wall.WallType typeOf(byte tile) {
+        return tile == EMPTY ? null : TYPES[tile - 1];
+    }
+}
@@ -0,0 +1,271 @@
+import java.awt.AlphaComposite;
+import java.awt.Color;
+import java.awt.Composite;
+import java.awt.Graphics2D;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+
+/**
+ * Everything the renderer needs for one simulation tick: which screen is up,
+ * a terrain copy, a flat list of atlas sprite handles in draw order, the HUD
+ * values and the menu and game-over state. The engine keeps three of these
+ * and recycles them: it fills its own after each tick, then swaps it with the
+ * shared one, from which the render thread takes the newest when it starts a
+ * frame. A snapshot is only ever held by one side, so it is drawn without
+ * locks while the next tick is filling another. Moving sprites also remember
+ * where they were one tick earlier so the renderer can interpolate.
+ */
+public class WorldSnapshot {
+    private final SpriteAtlas atlas;
+    private volatile long sequence;
+    private GameEngine.GameState state;
+    private TileMap terrain;
+
+    private int[] sprites = new int[64];
+    private int[] xs = new int[64];
+    private int[] ys = new int[64];
+    private float[] fromXs = new float[64];
+    private float[] fromYs = new float[64];
+    private int[] widths = new int[64];
+    private int[] heights = new int[64];
+    private float[] alphas = new float[64];
+    private int count = 0;
+    private int treeLayer = 0;
+    private static final float MAX_INTERPOLATED_DISTANCE = 64;
+    private static final AlphaComposite[] COMPOSITES = new AlphaComposite[256];
+    private static BufferedImage whiteBox;
+
+    static {
+        for (int i = 0; i < COMPOSITES.length; i++) {
+            COMPOSITES[i] = AlphaComposite.getInstance(AlphaComposite.SRC_OVER, i / 255f);
+        }
+    }
+
+    private boolean playerActive;
+    private int playerHealth;
+    private int remainingEnemies;
+    private int score;
+    private int stage;
+
+    private int menuSelection;
+    private boolean gameOverActive;
+    private float gameOverY;
+    private boolean gameOverShowScore;
+    private int gameOverScore;
+
+    public WorldSnapshot(SpriteAtlas atlas) {
+        this.atlas = atlas;
+    }
+
+    /**
+     * Empties the sprite list for refilling. The terrain copy is kept, so it
+     * can be brought up to date in place.
+     */
+    public void clear() {
+        count = 0;
+        treeLayer = 0;
+    }
+
+    public void setSequence(long sequence) {
+        this.sequence = sequence;
+    }
+
+    /** Increases with every published tick; zero until the first one. */
+    public long getSequence() {
+        return sequence;
+    }
+
+    public void setState(GameEngine.GameState state) {
+        this.state = state;
+    }
+
+    public GameEngine.GameState getState() {
+        return state;
+    }
+
+    public void setTerrain(TileMap terrain) {
+        this.terrain = terrain;
+    }
+
+    public TileMap getTerrain() {
+        return terrain;
+    }
+
+    public void addSprite(int sprite, float x, float y) {
+        addSprite(sprite, (int)x, (int)y, 0, 0, 1.0f);
+    }
+
+    /**
+     * Adds one draw. {@link SpriteAtlas#NO_SPRITE} fills a white box of the
+     * given size, which is how blinking items are highlighted.
+     */
+    public void addSprite(int sprite, int x, int y, int width, int height, float alpha) {
+        if (sprite == SpriteAtlas.NO_SPRITE && width == 0) return;
+        if (count == sprites.length) {
+            grow();
+        }
+
+        sprites[count] = sprite;
+        xs[count] = x;
+        ys[count] = y;
+        fromXs[count] = x;
+        fromYs[count] = y;
+        widths[count] = width;
+        heights[count] = height;
+        alphas[count] = alpha;
+        count++;
+    }
+
+    /**
+     * Adds a sprite that was at (fromX, fromY) on the previous tick. Jumps
+     * longer than a couple of cells, such as respawns, are not interpolated.
+     */
+    public void addMovingSprite(int sprite, float fromX, float fromY, float x, float y, float alpha) {
+        if (sprite == SpriteAtlas.NO_SPRITE) return;
+        addSprite(sprite, (int)x, (int)y, 0, 0, alpha);
+
+        if (Math.abs(x - fromX) + Math.abs(y - fromY) <= MAX_INTERPOLATED_DISTANCE) {
+            fromXs[count - 1] = fromX;
+            fromYs[count - 1] = fromY;
+        }
+    }
+
+    /**
+     * Everything added so far is drawn below the trees, everything added
+     * afterwards above them.
+     */
+    public void markTreeLayer() {
+        treeLayer = count;
+    }
+
+    public void setHud(boolean playerActive, int playerHealth, int remainingEnemies, int score, int stage) {
+        this.playerActive = playerActive;
+        this.playerHealth = playerHealth;
+        this.remainingEnemies = remainingEnemies;
+        this.score = score;
+        this.stage = stage;
+    }
+
+    public void setMenuSelection(int menuSelection) {
+        this.menuSelection = menuSelection;
+    }
+
+    public void setGameOver(boolean active, float y, boolean showScore, int score) {
+        this.gameOverActive = active;
+        this.gameOverY = y;
+        this.gameOverShowScore = showScore;
+        this.gameOverScore = score;
+    }
+
+    public boolean isPlayerActive() { return playerActive; }
+    public int getPlayerHealth() { return playerHealth; }
+    public int getRemainingEnemies() { return remainingEnemies; }
+    public int getScore() { return score; }
+    public int getStage() { return stage; }
+    public int getMenuSelection() { return menuSelection; }
+    public boolean isGameOverActive() { return gameOverActive; }
+    public float getGameOverY() { return gameOverY; }
+    public boolean isGameOverScoreShown() { return gameOverShowScore; }
+    public int getGameOverScore() { return gameOverScore; }
+
+    public int getSpriteCount() {
+        return count;
+    }
+
+    public void render(Graphics2D g) {
+        render(g, 1.0f);
+    }
+
+    /**
+     * Draws the snapshot with moving sprites placed {@code interpolation} of
+     * the way from their previous-tick position to their current one.
+     */
+    public void render(Graphics2D g, float interpolation) {
+        render(g, interpolation, null);
+    }
+
+    /**
+     * As {@link #render(Graphics2D, float)}, but draws the border and terrain
+     * from the given cached layers, refreshing them from this snapshot first.
+     */
+    public void render(Graphics2D g, float interpolation, TerrainLayers layers) {
+        if (layers != null && terrain != null) {
+            layers.update(terrain);
+            layers.renderGround(g);
+            drawSprites(g, 0, treeLayer, interpolation);
+            layers.renderTrees(g);
+            drawSprites(g, treeLayer, count, interpolation);
+            return;
+        }
+
+        Level.drawBoundaries(g);
+
+        if (terrain != null) {
+            terrain.renderGround(g);
+        }
+        drawSprites(g, 0, treeLayer, interpolation);
+
+        if (terrain != null) {
+            terrain.renderTrees(g);
+        }
+        drawSprites(g, treeLayer, count, interpolation);
+    }
+
+    private void drawSprites(Graphics2D g, int from, int to, float interpolation) {
+        for (int i = from; i < to; i++) {
+            Composite originalComposite = null;
+            if (alphas[i] < 1.0f) {
+                originalComposite = g.getComposite();
+                g.setComposite(COMPOSITES[Math.round(Math.max(0f, alphas[i]) * 255)]);
+            }
+
+            if (sprites[i] != SpriteAtlas.NO_SPRITE) {
+                int drawX = xs[i];
+                int drawY = ys[i];
+                if (interpolation < 1.0f && (fromXs[i] != drawX || fromYs[i] != drawY)) {
+                    drawX = Math.round(fromXs[i] + (drawX - fromXs[i]) * interpolation);
+                    drawY = Math.round(fromYs[i] + (drawY - fromYs[i]) * interpolation);
+                }
+                atlas.draw(g, sprites[i], drawX, drawY);
+            } else {
+                BufferedImage box = whiteBox(widths[i], heights[i]);
+                g.drawImage(box, xs[i], ys[i], xs[i] + widths[i], ys[i] + heights[i],
+                            0, 0, widths[i], heights[i], null);
+            }
+
+            if (originalComposite != null) {
+                g.setComposite(originalComposite);
+            }
+        }
+    }
+
+    /**
+     * A blit of a white image; translucent fills go through a far slower,
+     * allocating path in the software pipeline. Only the render thread calls
+     * this.
+     */
+    private static BufferedImage whiteBox(int width, int height) {
+        if (whiteBox == null || whiteBox.getWidth() < width || whiteBox.getHeight() < height) {
+            int side = Math.max(64, Math.max(width, height));
+            whiteBox = ResourceManager.createCompatibleImage(side, side, Transparency.OPAQUE);
+            Graphics2D g = whiteBox.createGraphics();
+            g.setColor(Color.WHITE);
+            g.fillRect(0, 0, side, side);
+            g.dispose();
+        }
+        return whiteBox;
+    }
+
+    private void grow() {
+        int capacity = sprites.length * 2;
+        sprites = Arrays.copyOf(sprites, capacity);
+        xs = Arrays.copyOf(xs, capacity);
+        ys = Arrays.copyOf(ys, capacity);
+        fromXs = Arrays.copyOf(fromXs, capacity);
+        fromYs = Arrays.copyOf(fromYs, capacity);
+        widths = Arrays.copyOf(widths, capacity);
+        heights = Arrays.copyOf(heights, capacity);
+        alphas = Arrays.copyOf(alphas, capacity);
+    }
+}